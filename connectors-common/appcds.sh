@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+#
+# Creates an AppCDS archive for a connector, so that its classes are loaded from a memory-mapped
+# archive instead of being parsed and verified again by every new pod. Run it at image build time:
+#
+#   ./appcds.sh target/hub-coupa-connector.jar /opt/connector [connector arguments...]
+#
+# The connector is started once from the unzipped jar, with the given arguments, until it answers
+# GET /, and the classes it loaded are dumped to /opt/connector/app.jsa. Start it with the command
+# in /opt/connector/run.sh; the class path must stay the same as when the archive was dumped.
+
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+  echo "Usage: $0 <connector jar> <output dir> [connector arguments...]" >&2
+  exit 1
+fi
+
+jar=$(realpath "$1")
+out=$2
+shift 2
+port=${APPCDS_PORT:-18080}
+timeout=${APPCDS_TIMEOUT:-120}
+
+rm -rf "$out"
+mkdir -p "$out/exploded"
+out=$(realpath "$out")
+(cd "$out/exploded" && jar -xf "$jar")
+
+main=$(grep '^Start-Class:' "$out/exploded/META-INF/MANIFEST.MF" | cut -d' ' -f2 | tr -d '\r')
+
+# Java 11 only archives classes from jar files, not directories
+jar -cf "$out/app.jar" -C "$out/exploded/BOOT-INF/classes" .
+classpath="$out/app.jar"
+for lib in "$out"/exploded/BOOT-INF/lib/*.jar; do
+  classpath="$classpath:$lib"
+done
+
+java -Xshare:off -XX:DumpLoadedClassList="$out/classes.lst" -cp "$classpath" "$main" \
+  --server.port="$port" "$@" &
+pid=$!
+
+elapsed=0
+until curl -sf -o /dev/null "http://localhost:$port/"; do
+  if ! kill -0 "$pid" 2>/dev/null || [ "$elapsed" -ge "$timeout" ]; then
+    echo "$main did not answer GET / on port $port" >&2
+    kill "$pid" 2>/dev/null || true
+    exit 1
+  fi
+  sleep 1
+  elapsed=$((elapsed + 1))
+done
+kill "$pid"
+wait "$pid" || true
+
+java -Xshare:dump -XX:SharedClassListFile="$out/classes.lst" -XX:SharedArchiveFile="$out/app.jsa" -cp "$classpath"
+
+cat > "$out/run.sh" <<RUN
+#!/bin/sh
+exec java -XX:SharedArchiveFile="$out/app.jsa" -Xshare:auto \$JAVA_OPTS -cp "$classpath" $main "\$@"
+RUN
+chmod +x "$out/run.sh"
+echo "Archived $(wc -l < "$out/classes.lst") classes to $out/app.jsa"
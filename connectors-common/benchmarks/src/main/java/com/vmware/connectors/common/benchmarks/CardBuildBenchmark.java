@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.vmware.connectors.common.payloads.response.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card.Builder.build on an approval card, which is dominated by computing the card's hash.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CardBuildBenchmark {
+
+    private int index;
+
+    @Benchmark
+    public Card buildWithHash() {
+        return SampleCards.approvalCard(index++).build();
+    }
+
+    @Benchmark
+    public Card buildWithPresetHash() {
+        return SampleCards.approvalCard(index++)
+                .setHash("preset")
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vmware.connectors.common.payloads.response.Cards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding cost of a Cards response in each wire format. See {@link PayloadSizes} for the sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CardsEncodingBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    CardsFormats format;
+
+    @Param({"50", "500"})
+    int count;
+
+    private ObjectWriter writer;
+    private Cards cards;
+
+    @Setup
+    public void setup() {
+        writer = format.objectMapper().writer();
+        cards = SampleCards.cards(count);
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return writer.writeValueAsBytes(cards);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * The wire formats a connector can answer card requests in, each with an ObjectMapper configured
+ * as in the connectors' application.yaml.
+ */
+enum CardsFormats {
+    JSON(new JsonFactory()),
+    CBOR(new CBORFactory()),
+    SMILE(new SmileFactory());
+
+    private final ObjectMapper objectMapper;
+
+    CardsFormats(JsonFactory factory) {
+        this.objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+}
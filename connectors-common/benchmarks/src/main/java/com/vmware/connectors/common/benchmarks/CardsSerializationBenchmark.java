@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.payloads.response.CardsModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a Cards response, configured as in the connectors' application.yaml,
+ * with reflective bean serialization, with the hand-written serializers from {@link CardsModule}, and
+ * with those serializers writing the compact profile. Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CardsSerializationBenchmark {
+
+    @Param({"50", "200", "500"})
+    int count;
+
+    @Param({"reflective", "cardsModule", "compact"})
+    String serializer;
+
+    private ObjectWriter writer;
+
+    private Cards cards;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!"reflective".equals(serializer)) {
+            objectMapper.registerModule(new CardsModule());
+        }
+        writer = objectMapper.writer().withAttribute(CardsModule.COMPACT, "compact".equals(serializer));
+        cards = SampleCards.cards(count);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(cards);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.vmware.connectors.common.utils.HashUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HashUtilBenchmark {
+
+    @Param({"2", "10", "50"})
+    int size;
+
+    private Object[] args;
+    private List<String> list;
+    private Map<String, String> map;
+
+    @Setup
+    public void setup() {
+        args = new Object[size * 2];
+        list = new ArrayList<>();
+        map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            args[i * 2] = "field" + i + ": ";
+            args[i * 2 + 1] = "value of field " + i;
+            list.add("tag-" + i);
+            map.put("param" + i, "value-" + i);
+        }
+    }
+
+    @Benchmark
+    public String hash() {
+        return HashUtil.hash(args);
+    }
+
+    @Benchmark
+    public String hashList() {
+        return HashUtil.hashList(list);
+    }
+
+    @Benchmark
+    public String hashMap() {
+        return HashUtil.hashMap(map);
+    }
+}
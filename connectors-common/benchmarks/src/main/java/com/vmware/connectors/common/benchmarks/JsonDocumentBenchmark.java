@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.jayway.jsonpath.Configuration;
+import com.vmware.connectors.common.json.JsonDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonDocument.read on a backend-style response of 100 approvals, for the path shapes connectors use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonDocumentBenchmark {
+
+    @Param({
+            "$.meta.total",
+            "$.approvals[42].requisition.requester.email",
+            "$.approvals[*].id",
+            "$.approvals[?(@.status == 'pending')].id",
+            "$..email"
+    })
+    String path;
+
+    private JsonDocument document;
+
+    @Setup
+    public void setup() {
+        document = new JsonDocument(Configuration.defaultConfiguration().jsonProvider().parse(SampleJson.approvals(100)));
+    }
+
+    @Benchmark
+    public Object read() {
+        return document.read(path);
+    }
+}
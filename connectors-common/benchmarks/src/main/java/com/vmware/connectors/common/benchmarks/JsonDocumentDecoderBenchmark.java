@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.vmware.connectors.common.json.JsonDocument;
+import com.vmware.connectors.common.json.JsonDocumentDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonDocumentDecoder on a response that arrives in several buffers, as it does from Netty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonDocumentDecoderBenchmark {
+
+    private static final ResolvableType TYPE = ResolvableType.forClass(JsonDocument.class);
+
+    @Param({"10", "100", "500"})
+    int approvals;
+
+    @Param({"8192"})
+    int bufferSize;
+
+    private final JsonDocumentDecoder decoder = new JsonDocumentDecoder();
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    private final List<byte[]> chunks = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        byte[] payload = SampleJson.approvals(approvals).getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < payload.length; offset += bufferSize) {
+            chunks.add(Arrays.copyOfRange(payload, offset, Math.min(payload.length, offset + bufferSize)));
+        }
+    }
+
+    @Benchmark
+    public JsonDocument decode() {
+        Flux<DataBuffer> buffers = Flux.fromIterable(chunks).map(bufferFactory::wrap);
+        return decoder.decodeToMono(buffers, TYPE, MediaType.APPLICATION_JSON, Collections.emptyMap()).block();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.payloads.response.CardsModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prints the size of sample Cards responses in each wire format, and in the compact JSON profile,
+ * raw and gzipped, as JSON:
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.vmware.connectors.common.benchmarks.PayloadSizes
+ * </pre>
+ */
+public final class PayloadSizes {
+
+    private static final int[] COUNTS = {50, 200, 500};
+
+    private PayloadSizes() {
+        // Do not construct
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectWriter compact = CardsFormats.JSON.objectMapper().copy()
+                .registerModule(new CardsModule())
+                .writer()
+                .withAttribute(CardsModule.COMPACT, true);
+        Map<String, Map<String, Long>> sizes = new LinkedHashMap<>();
+        for (int count : COUNTS) {
+            Cards cards = SampleCards.cards(count);
+            for (CardsFormats format : CardsFormats.values()) {
+                sizes.put(format + "/" + count, measure(format.objectMapper().writeValueAsBytes(cards)));
+            }
+            sizes.put("JSON-compact/" + count, measure(compact.writeValueAsBytes(cards)));
+        }
+        System.out.println(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(sizes)); //NOPMD report goes to stdout
+    }
+
+    private static Map<String, Long> measure(byte[] encoded) throws IOException {
+        Map<String, Long> size = new LinkedHashMap<>();
+        size.put("bytes", (long) encoded.length);
+        size.put("gzipBytes", (long) gzip(encoded).length);
+        return size;
+    }
+
+    static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.CardAction;
+import com.vmware.connectors.common.payloads.response.CardActionInputField;
+import com.vmware.connectors.common.payloads.response.CardActionKey;
+import com.vmware.connectors.common.payloads.response.CardBody;
+import com.vmware.connectors.common.payloads.response.CardBodyField;
+import com.vmware.connectors.common.payloads.response.CardBodyFieldType;
+import com.vmware.connectors.common.payloads.response.Cards;
+import org.springframework.http.HttpMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cards shaped like a typical approval card: a header, a handful of body fields, approve and
+ * decline actions with request parameters and a comment field.
+ */
+final class SampleCards {
+
+    private static final OffsetDateTime CREATED = OffsetDateTime.of(2021, 6, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+    private SampleCards() {
+        // Do not construct
+    }
+
+    static Card.Builder approvalCard(int index) {
+        String id = "REQ-" + (100_000 + index);
+        return new Card.Builder()
+                .setName("Requisition")
+                .setTemplate("https://hero/connectors/coupa/templates/generic.hbs")
+                .setHeader("Requisition " + id, "Submitted by Jane Doe")
+                .setBackendId(id)
+                .setCreationDate(CREATED)
+                .setImportance(1)
+                .addTag("requisition")
+                .setBody(body(index))
+                .addAction(action("Approve", "approve", id))
+                .addAction(action("Decline", "decline", id));
+    }
+
+    static Cards cards(int count) {
+        Cards cards = new Cards();
+        for (int i = 0; i < count; i++) {
+            cards.getCards().add(approvalCard(i).build());
+        }
+        return cards;
+    }
+
+    private static CardBody body(int index) {
+        CardBody.Builder body = new CardBody.Builder()
+                .setDescription("Laptop refresh for the platform team, cost center " + (4000 + index % 50));
+        String[][] fields = {
+                {"Requested by", "Jane Doe"},
+                {"Total", (1200 + index) + ".00 USD"},
+                {"Supplier", "ACME Hardware"},
+                {"Justification", "Existing laptops are out of warranty and below the minimum spec for builds."},
+                {"Ship to", "3401 Hillview Ave, Palo Alto, CA"}
+        };
+        for (String[] field : fields) {
+            body.addField(new CardBodyField.Builder()
+                    .setType(CardBodyFieldType.GENERAL)
+                    .setTitle(field[0])
+                    .setDescription(field[1])
+                    .build());
+        }
+        body.addField(new CardBodyField.Builder()
+                .setType(CardBodyFieldType.COMMENT)
+                .setTitle("Comments")
+                .addContent(Map.of("text", "Please approve before end of quarter"))
+                .addContent(Map.of("text", "Budget confirmed by finance"))
+                .build());
+        return body.build();
+    }
+
+    private static CardAction action(String label, String path, String id) {
+        return new CardAction.Builder()
+                .setId(UUID.nameUUIDFromBytes((path + id).getBytes(StandardCharsets.UTF_8)))
+                .setLabel(label)
+                .setUrl("/api/requisitions/" + id + "/" + path)
+                .setType(HttpMethod.POST)
+                .setActionKey(CardActionKey.USER_INPUT)
+                .addRequestParam("requisition_id", id)
+                .addRequestParam("action", path)
+                .addUserInputField(new CardActionInputField.Builder()
+                        .setId("comment")
+                        .setLabel("Comment")
+                        .setFormat("textarea")
+                        .setMinLength(1)
+                        .build())
+                .setCompletedLabel(label + "d")
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import java.util.StringJoiner;
+
+/**
+ * Backend responses shaped like a list of pending approvals.
+ */
+final class SampleJson {
+
+    private SampleJson() {
+        // Do not construct
+    }
+
+    static String approvals(int count) {
+        StringJoiner approvals = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < count; i++) {
+            approvals.add("{\"id\":" + i
+                    + ",\"status\":\"" + (i % 3 == 0 ? "approved" : "pending") + "\""
+                    + ",\"requisition\":{\"id\":" + (100_000 + i)
+                    + ",\"total\":\"" + (1200 + i) + ".00\",\"currency\":\"USD\""
+                    + ",\"justification\":\"Existing laptops are out of warranty and below the minimum spec for builds.\""
+                    + ",\"requester\":{\"name\":\"Jane Doe\",\"email\":\"jane.doe" + i + "@example.com\"}"
+                    + ",\"lines\":[{\"description\":\"Laptop\",\"quantity\":2},{\"description\":\"Dock\",\"quantity\":2}]}}");
+        }
+        return "{\"meta\":{\"total\":" + count + "},\"approvals\":" + approvals + "}";
+    }
+}
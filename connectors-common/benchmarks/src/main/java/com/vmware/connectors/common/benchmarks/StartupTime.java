@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a connector several times and prints, as JSON, how long it took each time from launching
+ * the process to the first successful response to GET / (the discovery metadata):
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar com.vmware.connectors.common.benchmarks.StartupTime \
+ *         coupa 5 http://localhost:8080/ -- \
+ *         java -Dspring.profiles.active=fast-startup -jar hub-coupa-connector.jar --server.port=8080 ...
+ * </pre>
+ * Run it once per connector and per startup option (profile, AppCDS archive) to compare them.
+ */
+public final class StartupTime {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private StartupTime() {
+        // Do not construct
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator != 3 || args.length == 4 || runs(args[1]) < 1) {
+            System.err.println("Usage: StartupTime <connector> <runs> <url> -- <command...>"); //NOPMD usage goes to stderr
+            System.exit(1);
+        }
+        String connector = args[0];
+        int runs = runs(args[1]);
+        URI url = URI.create(args[2]);
+        List<String> command = Arrays.asList(args).subList(separator + 1, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        List<Long> millis = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            millis.add(timeToFirstResponse(client, url, command).toMillis());
+        }
+
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connector", connector);
+        result.put("command", String.join(" ", command));
+        result.put("timeToFirstResponseMillis", millis);
+        result.put("minMillis", sorted.get(0));
+        result.put("medianMillis", sorted.get(sorted.size() / 2));
+        System.out.println(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(result)); //NOPMD report goes to stdout
+    }
+
+    private static int runs(String runs) {
+        try {
+            return Integer.parseInt(runs);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Duration timeToFirstResponse(HttpClient client, URI url, List<String> command)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Connector exited with " + process.exitValue() + " before answering " + url);
+                }
+                if (answers(client, request)) {
+                    return Duration.ofNanos(System.nanoTime() - start);
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No answer from " + url + " within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean answers(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+}
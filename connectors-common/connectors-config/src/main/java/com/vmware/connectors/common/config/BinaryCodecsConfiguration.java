@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR and Smile codecs, so that endpoints which list them in produces (see ConnectorMediaTypes)
+ * can answer clients that ask for them. Their ObjectMappers are built like the JSON one, from
+ * Spring Boot's Jackson2ObjectMapperBuilder.
+ */
+@Configuration
+public class BinaryCodecsConfiguration {
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        ObjectMapper cbor = objectMapperBuilder.factory(new CBORFactory()).build();
+        ObjectMapper smile = objectMapperBuilder.factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.customCodecs().encoder(new Jackson2CborEncoder(cbor));
+            configurer.customCodecs().decoder(new Jackson2CborDecoder(cbor));
+            configurer.customCodecs().encoder(new Jackson2SmileEncoder(smile));
+            configurer.customCodecs().decoder(new Jackson2SmileDecoder(smile));
+        };
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Development and test mode that reports blocking calls made on Netty event loops (and other
+ * non-blocking threads), with the stack trace of the offending code. Enable with
+ * connector.blocking-detection.enabled=true; it needs BlockHound on the classpath (it is a dependency
+ * of connectors-test) and, on Java 13 or later, -XX:+AllowRedefinitionToAddDeleteMethods.
+ * <p>
+ * connector.blocking-detection.action=log (the default) logs each blocking call;
+ * fail throws BlockingOperationError from it, so tests fail.
+ */
+@Configuration
+@ConditionalOnClass(name = "reactor.blockhound.BlockHound")
+@ConditionalOnProperty(name = "connector.blocking-detection.enabled", havingValue = "true")
+public class BlockingDetectionConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingDetectionConfiguration.class);
+
+    @Bean
+    @Lazy(false)
+    public InitializingBean blockHoundInstaller(@Value("${connector.blocking-detection.action:log}") String action) {
+        boolean fail = "fail".equalsIgnoreCase(action);
+        return () -> BlockHound.builder()
+                // Card and CardAction ids; SecureRandom only blocks when seeding
+                .allowBlockingCallsInside("java.util.UUID", "randomUUID")
+                .blockingMethodCallback(method -> {
+                    BlockingOperationError error = new BlockingOperationError(method);
+                    if (fail) {
+                        throw error;
+                    }
+                    logger.warn("Blocking call on non-blocking thread {}", Thread.currentThread().getName(), error);
+                })
+                .install();
+    }
+}
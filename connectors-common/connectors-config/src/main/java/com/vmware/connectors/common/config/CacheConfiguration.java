@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vmware.connectors.common.cache.CacheProvider;
+import com.vmware.connectors.common.cache.CacheStore;
+import com.vmware.connectors.common.cache.LocalCacheProvider;
+import com.vmware.connectors.common.cache.SharedCacheProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The connector's caches are in-process unless a CacheStore bean is declared, in which case they are
+ * shared by all replicas through it, serialized as Smile and namespaced by spring.application.name.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheProvider cacheProvider(
+            ObjectProvider<CacheStore> cacheStore,
+            Jackson2ObjectMapperBuilder objectMapperBuilder,
+            @Value("${spring.application.name:connector}") String applicationName
+    ) {
+        CacheStore store = cacheStore.getIfAvailable();
+        if (store == null) {
+            return new LocalCacheProvider();
+        }
+        return new SharedCacheProvider(store, objectMapperBuilder.factory(new SmileFactory()).build(), applicationName + ":");
+    }
+}
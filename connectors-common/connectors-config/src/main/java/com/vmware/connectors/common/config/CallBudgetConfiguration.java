@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.http.CallBudget;
+import com.vmware.connectors.common.http.CallBudgetExchangeFilter;
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+/**
+ * Per-request budget of backend calls. Connectors declare their own {@link CallBudget} bean;
+ * set connector.call-budget.action=fail in tests to turn N+1 regressions into failures.
+ */
+@Configuration
+public class CallBudgetConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CallBudget callBudget(@Value("${connector.call-budget.default-limit:0}") int defaultLimit) {
+        return new CallBudget(defaultLimit);
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.CALL_BUDGET)
+    public ExchangeFilterFunction callBudgetFilter(
+            CallBudget callBudget,
+            @Value("${connector.call-budget.action:warn}") CallBudgetExchangeFilter.Action action,
+            MeterRegistry meterRegistry
+    ) {
+        return new CallBudgetExchangeFilter(callBudget, action, meterRegistry);
+    }
+}
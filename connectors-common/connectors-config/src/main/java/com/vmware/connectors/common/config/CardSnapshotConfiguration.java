@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.CardSnapshotStore;
+import com.vmware.connectors.common.http.CardSnapshots;
+import com.vmware.connectors.common.http.FileCardSnapshotStore;
+import com.vmware.connectors.common.http.PrecomputedCards;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Keeps precomputed cards across restarts. Enable with connector.precompute.snapshot.enabled=true,
+ * along with connector.precompute.enabled=true. By default the snapshots go to
+ * connector.precompute.snapshot.file on local disk, which has no default and should be on a volume
+ * that outlives the pod.
+ * <p>
+ * The file holds every polling user's cards, unencrypted, so it is as sensitive as the backends'
+ * data: the volume should be private to the connector and encrypted at rest. The file is created
+ * readable by its owner only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.precompute.snapshot.enabled", havingValue = "true")
+public class CardSnapshotConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CardSnapshotStore cardSnapshotStore(
+            @Value("${connector.precompute.snapshot.file:}") String file,
+            ObjectMapper objectMapper
+    ) {
+        if (StringUtils.isBlank(file)) {
+            throw new IllegalStateException("connector.precompute.snapshot.file is required when snapshots are enabled");
+        }
+        return new FileCardSnapshotStore(Paths.get(file), objectMapper);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @Lazy(false)
+    public CardSnapshots cardSnapshots(
+            PrecomputedCards precomputedCards,
+            CardSnapshotStore cardSnapshotStore,
+            @Value("${connector.precompute.snapshot.interval:1m}") Duration interval
+    ) {
+        return new CardSnapshots(precomputedCards, cardSnapshotStore, interval);
+    }
+}
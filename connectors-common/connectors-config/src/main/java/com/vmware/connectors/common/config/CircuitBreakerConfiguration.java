@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.http.CircuitBreakerExchangeFilter;
+import com.vmware.connectors.common.http.CircuitBreakerRegistry;
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.time.Duration;
+
+/**
+ * Per-tenant circuit breaking for the shared WebClient. Enable with connector.circuit-breaker.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.circuit-breaker.enabled", havingValue = "true")
+public class CircuitBreakerConfiguration {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${connector.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${connector.circuit-breaker.open-duration:30s}") Duration openDuration
+    ) {
+        return new CircuitBreakerRegistry(failureThreshold, openDuration);
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.CIRCUIT_BREAKER)
+    public ExchangeFilterFunction circuitBreakerFilter(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return new CircuitBreakerExchangeFilter(circuitBreakerRegistry);
+    }
+}
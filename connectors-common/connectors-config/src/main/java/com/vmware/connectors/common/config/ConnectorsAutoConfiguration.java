@@ -5,18 +5,37 @@
 
 package com.vmware.connectors.common.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.cache.CacheProvider;
+import com.vmware.connectors.common.http.DeadlineExchangeFilter;
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import com.vmware.connectors.common.http.LastKnownCards;
+import com.vmware.connectors.common.http.PrecomputedCards;
+import com.vmware.connectors.common.http.ServerTimingExchangeFilter;
 import com.vmware.connectors.common.json.JsonDocumentDecoder;
+import com.vmware.connectors.common.payloads.response.CardActionTemplates;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.payloads.response.CardsModule;
+import com.vmware.connectors.common.utils.CardStreams;
 import com.vmware.connectors.common.utils.CardTextAccessor;
+import com.vmware.connectors.common.utils.CardWorkScheduler;
 import com.vmware.connectors.common.utils.ConnectorTextAccessor;
+import com.vmware.connectors.common.web.CompactCardsEncoder;
 import com.vmware.connectors.common.web.ConnectorRootController;
+import com.vmware.connectors.common.web.DeadlineWebFilter;
 import com.vmware.connectors.common.web.ExceptionHandlers;
+import com.vmware.connectors.common.web.ExchangeContextWebFilter;
 import com.vmware.connectors.common.web.FormWebFilter;
 import com.vmware.connectors.common.web.SecurityContextWebFilter;
 import com.vmware.connectors.common.web.ServerHeaderWebFilter;
+import com.vmware.connectors.common.web.ServerTimingWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.MessageSource;
@@ -27,18 +46,36 @@ import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.WebFilter;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.time.Duration;
 
 
 /**
  * Created by Rob Worsnop on 11/29/16.
  */
 @Configuration
-@Import({ExceptionHandlers.class, ConnectorRootController.class})
+@Import({
+        ExceptionHandlers.class,
+        ConnectorRootController.class,
+        CircuitBreakerConfiguration.class,
+        HedgingConfiguration.class,
+        CallBudgetConfiguration.class,
+        JfrConfiguration.class,
+        TracingConfiguration.class,
+        BlockingDetectionConfiguration.class,
+        BinaryCodecsConfiguration.class,
+        MetricsConfiguration.class,
+        WebhookConfiguration.class,
+        CardSnapshotConfiguration.class,
+        CacheConfiguration.class,
+        PrewarmConfiguration.class
+})
 public class ConnectorsAutoConfiguration {
 
     private final Resource metadataHalResource;
@@ -53,6 +90,12 @@ public class ConnectorsAutoConfiguration {
         return new SecurityContextWebFilter();
     }
 
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public WebFilter exchangeContextFilter() {
+        return new ExchangeContextWebFilter();
+    }
+
     @Bean
     public WebFilter formFilter() {
         return new FormWebFilter();
@@ -64,6 +107,34 @@ public class ConnectorsAutoConfiguration {
         return new ServerHeaderWebFilter(serverProperties.getServerHeader());
     }
 
+    @Bean
+    public WebFilter deadlineFilter(
+            @Value("${connector.request-timeout:}") Duration defaultTimeout,
+            @Value("${connector.request-timeout-max:5m}") Duration maxTimeout,
+            @Value("${connector.request-timeout-reserve:250ms}") Duration reserve
+    ) {
+        return new DeadlineWebFilter(defaultTimeout, maxTimeout, reserve);
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.DEADLINE)
+    public ExchangeFilterFunction deadlineExchangeFilter() {
+        return new DeadlineExchangeFilter();
+    }
+
+    @Bean
+    public WebFilter serverTimingFilter(
+            @Value("${connector.server-timing:on-request}") ServerTimingWebFilter.Mode mode
+    ) {
+        return new ServerTimingWebFilter(mode);
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.SERVER_TIMING)
+    public ExchangeFilterFunction serverTimingExchangeFilter() {
+        return new ServerTimingExchangeFilter();
+    }
+
 
     @Bean
     public MessageSource messageSource() {
@@ -84,13 +155,72 @@ public class ConnectorsAutoConfiguration {
     }
 
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    @ConditionalOnMissingBean
+    public CardActionTemplates cardActionTemplates() {
+        return new CardActionTemplates();
+    }
+
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, ObjectProvider<ExchangeFilterFunction> exchangeFilters) {
+        return builder.filters(filters -> exchangeFilters.orderedStream().forEach(filters::add))
+                .build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "cardWorkScheduler")
+    public Scheduler cardWorkScheduler(
+            @Value("${connector.card-work.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${connector.card-work.queue-capacity:1000}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        return CardWorkScheduler.create(threads, queueCapacity, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LastKnownCards lastKnownCards(
+            @Value("${connector.last-known-cards.max-age:1h}") Duration maxAge,
+            @Value("${connector.last-known-cards.max-size:10000}") long maxSize,
+            CacheProvider cacheProvider
+    ) {
+        return new LastKnownCards(cacheProvider.getCache(LastKnownCards.CACHE_NAME, Cards.class, maxAge, maxSize));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PrecomputedCards precomputedCards(
+            @Value("${connector.precompute.enabled:false}") boolean enabled,
+            @Value("${connector.precompute.fresh-for:30s}") Duration freshFor,
+            @Value("${connector.precompute.max-staleness:5m}") Duration maxStaleness,
+            @Value("${connector.precompute.idle-ttl:1h}") Duration idleTtl,
+            @Value("${connector.precompute.max-size:10000}") long maxSize,
+            @Value("${connector.precompute.refresh-timeout:}") Duration refreshTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        if (!enabled) {
+            return PrecomputedCards.disabled();
+        }
+        return new PrecomputedCards(freshFor, maxStaleness, idleTtl, maxSize,
+                refreshTimeout == null ? maxStaleness : refreshTimeout, meterRegistry);
+    }
+
+    @Bean
+    public CodecCustomizer codecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> {
+            configurer.customCodecs().decoder(new JsonDocumentDecoder());
+            configurer.customCodecs().encoder(CardStreams.ndjsonEncoder(objectMapper));
+            configurer.customCodecs().encoder(new CompactCardsEncoder(objectMapper));
+        };
     }
 
+    /*
+     * Picked up by Spring Boot's Jackson auto-configuration, so it applies to the application's
+     * ObjectMapper and every mapper built from the Jackson2ObjectMapperBuilder.
+     */
     @Bean
-    public CodecCustomizer codecCustomizer() {
-        return configurer -> configurer.customCodecs().decoder(new JsonDocumentDecoder());
+    @ConditionalOnProperty(name = "connector.cards-serializer.enabled", havingValue = "true", matchIfMissing = true)
+    public CardsModule cardsModule() {
+        return new CardsModule();
     }
 
     @Bean
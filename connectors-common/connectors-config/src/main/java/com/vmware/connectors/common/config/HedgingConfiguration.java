@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import com.vmware.connectors.common.http.HedgeBudget;
+import com.vmware.connectors.common.http.HedgingExchangeFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.time.Duration;
+
+/**
+ * Hedging of slow GETs for the shared WebClient. Enable with connector.hedging.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.hedging.enabled", havingValue = "true")
+public class HedgingConfiguration {
+
+    @Bean
+    @Order(ExchangeFilterOrder.HEDGING)
+    public ExchangeFilterFunction hedgingFilter(
+            @Value("${connector.hedging.percentile:95}") double percentile,
+            @Value("${connector.hedging.min-delay:50ms}") Duration minDelay,
+            @Value("${connector.hedging.min-samples:20}") int minSamples,
+            @Value("${connector.hedging.budget-ratio:0.1}") double budgetRatio,
+            @Value("${connector.hedging.max-burst:10}") double maxBurst
+    ) {
+        return new HedgingExchangeFilter(percentile, minDelay, minSamples, new HedgeBudget(budgetRatio, maxBurst));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ClientHttpConnectorAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * The connector used by every WebClient built from Spring Boot's WebClient.Builder, on the
+ * ReactorResourceFactory's event loops and connection pool. It replaces Spring Boot's, so this is
+ * an auto-configuration of its own, ordered before ClientHttpConnectorAutoConfiguration. That in
+ * turn leaves out Spring Boot's reactorClientResourceFactory, so it is declared here instead.
+ * <p>
+ * connector.dns-cache.enabled=true resolves backend host names with Netty's asynchronous DNS
+ * resolver, caching answers for their TTL, bounded by connector.dns-cache.min-ttl and max-ttl, and
+ * failures for negative-ttl. Otherwise names are resolved by the JDK, which blocks an event loop.
+ * <p>
+ * Unless connector.connection-metrics.enabled=false, Reactor Netty's client metrics are recorded,
+ * including reactor.netty.http.client.address.resolver, connect.time and tls.handshake.time per
+ * remote address. Their uri tag is left out, as the raw paths can contain ids; see
+ * connector.backend.requests for timings per endpoint.
+ */
+@Configuration
+@AutoConfigureBefore(ClientHttpConnectorAutoConfiguration.class)
+public class HttpClientConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactorResourceFactory reactorClientResourceFactory() {
+        return new ReactorResourceFactory();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "connector.dns-cache.enabled", havingValue = "true")
+    public DnsAddressResolverGroup dnsResolver(
+            ReactorResourceFactory resourceFactory,
+            @Value("${connector.dns-cache.min-ttl:10s}") Duration minTtl,
+            @Value("${connector.dns-cache.max-ttl:5m}") Duration maxTtl,
+            @Value("${connector.dns-cache.negative-ttl:5s}") Duration negativeTtl
+    ) {
+        // The resolver's channel runs on the client's event loops, so must be of the same transport
+        LoopResources loops = resourceFactory.getLoopResources();
+        EventLoopGroup group = loops.onClient(LoopResources.DEFAULT_NATIVE);
+        return new DnsAddressResolverGroup(new DnsNameResolverBuilder()
+                .channelType(loops.onDatagramChannel(group))
+                .ttl((int) minTtl.toSeconds(), (int) maxTtl.toSeconds())
+                .negativeTtl((int) negativeTtl.toSeconds()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClientHttpConnector.class)
+    public ReactorClientHttpConnector reactorClientHttpConnector(
+            ReactorResourceFactory resourceFactory,
+            ObjectProvider<DnsAddressResolverGroup> dnsResolver,
+            @Value("${connector.connection-metrics.enabled:true}") boolean metrics
+    ) {
+        DnsAddressResolverGroup resolver = dnsResolver.getIfAvailable();
+        return new ReactorClientHttpConnector(resourceFactory, httpClient -> customize(httpClient, resolver, metrics));
+    }
+
+    private static HttpClient customize(HttpClient httpClient, DnsAddressResolverGroup resolver, boolean metrics) {
+        HttpClient customized = httpClient;
+        if (resolver != null) {
+            customized = customized.tcpConfiguration(tcpClient -> tcpClient.resolver(resolver));
+        }
+        if (metrics) {
+            customized = customized.metrics(true, uri -> "none");
+        }
+        return customized;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import com.vmware.connectors.common.jfr.JfrExchangeFilter;
+import com.vmware.connectors.common.jfr.JfrWebFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Java Flight Recorder events for inbound requests and backend calls. They cost next to nothing
+ * unless a recording is running; disable with connector.jfr.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfiguration {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public WebFilter jfrWebFilter(@Value("${spring.application.name:connector}") String connector) {
+        return new JfrWebFilter(connector);
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.JFR)
+    public ExchangeFilterFunction jfrExchangeFilter(@Value("${spring.application.name:connector}") String connector) {
+        return new JfrExchangeFilter(connector);
+    }
+}
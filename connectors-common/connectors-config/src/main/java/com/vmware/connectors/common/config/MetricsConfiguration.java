@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import com.vmware.connectors.common.metrics.MeteredJackson2JsonEncoder;
+import com.vmware.connectors.common.metrics.MetricsExchangeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.BACKEND_ERRORS;
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.BACKEND_REQUESTS;
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.ENDPOINT_TAG;
+
+/**
+ * Connector-level Micrometer metrics. They can be scraped from /prometheus once it is exposed, see
+ * application.yaml in core. Their tags name tenant backends, so the endpoint is not public.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    @Order(ExchangeFilterOrder.METRICS)
+    public ExchangeFilterFunction metricsExchangeFilter(MeterRegistry meterRegistry) {
+        return new MetricsExchangeFilter(meterRegistry);
+    }
+
+    @Bean
+    public CodecCustomizer metricsCodecCustomizer(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return configurer -> configurer.defaultCodecs()
+                .jackson2JsonEncoder(new MeteredJackson2JsonEncoder(objectMapper, meterRegistry));
+    }
+
+    /*
+     * Unnamed calls made without a URI template are tagged with their raw path, which can contain ids.
+     * Stop recording new endpoints once there are too many, rather than flood the registry.
+     */
+    @Bean
+    public MeterFilter backendRequestsEndpointLimit(@Value("${connector.metrics.max-endpoint-tags:100}") int maxEndpoints) {
+        return MeterFilter.maximumAllowableTags(BACKEND_REQUESTS, ENDPOINT_TAG, maxEndpoints, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter backendErrorsEndpointLimit(@Value("${connector.metrics.max-endpoint-tags:100}") int maxEndpoints) {
+        return MeterFilter.maximumAllowableTags(BACKEND_ERRORS, ENDPOINT_TAG, maxEndpoints, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.http.ConnectionPrewarmer;
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import com.vmware.connectors.common.http.PrewarmExchangeFilter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps connections open to recently called backends. Enable with connector.prewarm.enabled=true.
+ * connector.prewarm.base-urls lists backends to warm up from the start; with connector.prewarm.file,
+ * the backends called are remembered across restarts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.prewarm.enabled", havingValue = "true")
+public class PrewarmConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @Lazy(false)
+    public ConnectionPrewarmer connectionPrewarmer(
+            WebClient.Builder webClientBuilder,
+            @Value("${connector.prewarm.recent-for:15m}") Duration recentFor,
+            @Value("${connector.prewarm.max-backends:1000}") long maxBackends,
+            @Value("${connector.prewarm.interval:45s}") Duration interval,
+            @Value("${connector.prewarm.base-urls:}") String[] baseUrls,
+            @Value("${connector.prewarm.file:}") String file
+    ) {
+        // Same connection pool as the shared WebClient, without its filters
+        ConnectionPrewarmer prewarmer = new ConnectionPrewarmer(webClientBuilder.build(), recentFor, maxBackends, interval,
+                StringUtils.isBlank(file) ? null : Paths.get(file));
+        prewarmer.add(List.of(baseUrls));
+        return prewarmer;
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.PREWARM)
+    public ExchangeFilterFunction prewarmExchangeFilter(ConnectionPrewarmer connectionPrewarmer) {
+        return new PrewarmExchangeFilter(connectionPrewarmer);
+    }
+}
@@ -7,14 +7,23 @@ package com.vmware.connectors.common.config;
 
 import com.vmware.connectors.common.security.AudienceAuthorizationManager;
 import com.vmware.connectors.common.security.ConnectorAuthentication;
+import com.vmware.connectors.common.security.LazyJwtDecoder;
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.asn1.ASN1Object;
 import org.bouncycastle.openssl.PEMParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.web.client.RestTemplate;
 import reactor.core.publisher.Mono;
@@ -30,7 +39,13 @@ import java.security.spec.X509EncodedKeySpec;
 @EnableWebFluxSecurity
 public class SecurityAutoConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityAutoConfiguration.class);
+
+    /*
+     * Lazy, so that it is only fetched at startup if connector.security.lazy-public-key is false.
+     */
     @Bean
+    @Lazy
     RSAPublicKey publicKey(
             @Value("${security.oauth2.resource.jwt.key-uri:}") String keyUri,
             @Value("${security.oauth2.resource.jwt.key-value:}") String keyValue
@@ -62,13 +77,38 @@ public class SecurityAutoConfiguration {
 
 
     @Bean
-    SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, RSAPublicKey publicKey) {
+    ReactiveJwtDecoder jwtDecoder(
+            ObjectProvider<RSAPublicKey> publicKey,
+            @Value("${connector.security.lazy-public-key:false}") boolean lazy
+    ) {
+        if (lazy) {
+            return new LazyJwtDecoder(publicKey::getObject);
+        }
+        return NimbusReactiveJwtDecoder.withPublicKey(publicKey.getObject()).build();
+    }
+
+    /*
+     * Fetch a lazy public key as soon as the connector is up, rather than on the first poll.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpJwtDecoder(ApplicationReadyEvent event) {
+        ReactiveJwtDecoder decoder = event.getApplicationContext().getBean(ReactiveJwtDecoder.class);
+        if (decoder instanceof LazyJwtDecoder) {
+            ((LazyJwtDecoder) decoder).warmUp()
+                    .subscribe(null, throwable -> logger.warn("Failed to load the public key, will retry on the first request", throwable));
+        }
+    }
+
+    @Bean
+    SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder) {
         http.authorizeExchange().pathMatchers(HttpMethod.GET, "/health", "/templates/**", "/images/**", "/").permitAll()
+        // Webhook adapters authenticate the backend themselves
+        .pathMatchers(HttpMethod.POST, "/webhooks/**").permitAll()
         .and().csrf().disable()
         .authorizeExchange().anyExchange().access(new AudienceAuthorizationManager())
         .and()
         .oauth2ResourceServer()
-        .jwt().publicKey(publicKey).jwtAuthenticationConverter(source -> Mono.just(new ConnectorAuthentication(source)));
+        .jwt().jwtDecoder(jwtDecoder).jwtAuthenticationConverter(source -> Mono.just(new ConnectorAuthentication(source)));
 
         return http.build();
     }
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.http.ExchangeFilterOrder;
+import com.vmware.connectors.common.tracing.JsonFileSpanExporter;
+import com.vmware.connectors.common.tracing.SpanExporter;
+import com.vmware.connectors.common.tracing.Tracing;
+import com.vmware.connectors.common.tracing.TracingExchangeFilter;
+import com.vmware.connectors.common.tracing.TracingWebFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.server.WebFilter;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Tracing of inbound requests and their backend calls. Enable with connector.tracing.enabled=true.
+ * Spans go to the SpanExporter bean, which by default appends them to connector.tracing.file as JSON lines.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.tracing.enabled", havingValue = "true")
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanExporter spanExporter(@Value("${connector.tracing.file:traces.ndjson}") String file) throws IOException {
+        return new JsonFileSpanExporter(Paths.get(file));
+    }
+
+    @Bean
+    public Tracing tracing(SpanExporter spanExporter, @Value("${connector.tracing.sample-rate:1.0}") double sampleRate) {
+        return new Tracing(spanExporter, sampleRate);
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public WebFilter tracingWebFilter(Tracing tracing) {
+        return new TracingWebFilter(tracing);
+    }
+
+    @Bean
+    @Order(ExchangeFilterOrder.TRACING)
+    public ExchangeFilterFunction tracingExchangeFilter() {
+        return new TracingExchangeFilter();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.PrecomputedCards;
+import com.vmware.connectors.common.web.WebhookController;
+import com.vmware.connectors.common.webhooks.GraphWebhookAdapter;
+import com.vmware.connectors.common.webhooks.ServiceNowWebhookAdapter;
+import com.vmware.connectors.common.webhooks.WebhookAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * Push-driven invalidation of precomputed cards at POST /webhooks/{source}. Enable with
+ * connector.webhooks.enabled=true, along with connector.precompute.enabled=true. Each backend is
+ * turned on by configuring its shared secret:
+ * connector.webhooks.servicenow.secret and connector.webhooks.graph.client-state.
+ * Connectors can add their own WebhookAdapter beans.
+ */
+@Configuration
+@ConditionalOnProperty(name = "connector.webhooks.enabled", havingValue = "true")
+public class WebhookConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "connector.webhooks.servicenow.secret")
+    public WebhookAdapter serviceNowWebhookAdapter(@Value("${connector.webhooks.servicenow.secret}") String secret) {
+        return new ServiceNowWebhookAdapter(secret);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "connector.webhooks.graph.client-state")
+    public WebhookAdapter graphWebhookAdapter(@Value("${connector.webhooks.graph.client-state}") String clientState) {
+        return new GraphWebhookAdapter(clientState);
+    }
+
+    @Bean
+    public WebhookController webhookController(
+            ObjectProvider<WebhookAdapter> adapters,
+            PrecomputedCards precomputedCards,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        return new WebhookController(adapters.orderedStream().collect(Collectors.toList()), precomputedCards, objectMapper, meterRegistry);
+    }
+}
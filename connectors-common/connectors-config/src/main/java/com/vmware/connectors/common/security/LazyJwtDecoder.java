@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.interfaces.RSAPublicKey;
+import java.util.function.Supplier;
+
+/**
+ * Verifies tokens with a public key that is only loaded when first needed, so that fetching it
+ * from security.oauth2.resource.jwt.key-uri does not hold up startup. Loading is retried on the
+ * next token if it fails.
+ */
+public class LazyJwtDecoder implements ReactiveJwtDecoder {
+
+    private final Supplier<RSAPublicKey> publicKey;
+
+    private volatile ReactiveJwtDecoder delegate;
+
+    public LazyJwtDecoder(Supplier<RSAPublicKey> publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        ReactiveJwtDecoder decoder = delegate;
+        if (decoder != null) {
+            return decoder.decode(token);
+        }
+        return load().flatMap(loaded -> loaded.decode(token));
+    }
+
+    /**
+     * Load the key now, e.g. once the application is ready to serve requests.
+     *
+     * @return completes once the key is loaded
+     */
+    public Mono<Void> warmUp() {
+        return load().then();
+    }
+
+    private Mono<ReactiveJwtDecoder> load() {
+        // Fetching the key is a blocking HTTP call
+        return Mono.fromCallable(this::delegate)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized ReactiveJwtDecoder delegate() {
+        if (delegate == null) {
+            delegate = NimbusReactiveJwtDecoder.withPublicKey(publicKey.get()).build();
+        }
+        return delegate;
+    }
+}
@@ -34,6 +34,11 @@ public final class CommonUtils {
     }
 
     public static String buildConnectorUrl(final HttpRequest request, final String path) {
-        return UriComponentsBuilder.fromHttpRequest(request).replacePath(path).build().toString();
+        // Keep the path prefix of a connector mounted in connectors-host
+        String contextPath = request instanceof ServerHttpRequest
+                ? ((ServerHttpRequest) request).getPath().contextPath().value()
+                : "";
+        String fullPath = contextPath.isEmpty() ? path : contextPath + StringUtils.defaultString(path);
+        return UriComponentsBuilder.fromHttpRequest(request).replacePath(fullPath).build().toString();
     }
 }
@@ -6,6 +6,9 @@
 package com.vmware.connectors.common.web;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vmware.connectors.common.utils.CommonUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +16,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.APPLICATION_CBOR_VALUE;
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.APPLICATION_SMILE_VALUE;
+
 
 /**
  * Created by harshas on 8/8/18.
@@ -21,15 +27,30 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 public class ConnectorRootController {
 
     private final String connectorMetadata;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ConnectorRootController(String connectorMetadata) {
+    public ConnectorRootController(String connectorMetadata, ObjectMapper objectMapper) {
         this.connectorMetadata = connectorMetadata;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(path = "/")
     public ResponseEntity<String> getMetadata(ServerHttpRequest request) {
         return ResponseEntity.ok()
-                .body(this.connectorMetadata.replace("${CONNECTOR_HOST}", CommonUtils.buildConnectorUrl(request, null)));
+                .body(metadata(request));
+    }
+
+    /*
+     * The metadata is kept as JSON text, so parse it for the binary formats.
+     */
+    @GetMapping(path = "/", produces = {APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<JsonNode> getBinaryMetadata(ServerHttpRequest request) throws JsonProcessingException {
+        return ResponseEntity.ok()
+                .body(objectMapper.readTree(metadata(request)));
+    }
+
+    private String metadata(ServerHttpRequest request) {
+        return this.connectorMetadata.replace("${CONNECTOR_HOST}", CommonUtils.buildConnectorUrl(request, null));
     }
 }
@@ -5,8 +5,11 @@
 
 package com.vmware.connectors.common.web;
 
+import com.vmware.connectors.common.http.CircuitBreakerOpenException;
+import com.vmware.connectors.common.http.DeadlineExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ResponseEntity.BodyBuilder;
@@ -77,6 +80,27 @@ public class ExceptionHandlers {
 		}
 	}
 
+	@ExceptionHandler(CircuitBreakerOpenException.class)
+	@ResponseBody
+	public ResponseEntity<Object> handleCircuitBreakerOpen(CircuitBreakerOpenException e) {
+		// The backend is known to be down, so tell the caller when it is worth trying again
+		// rather than making it wait out connect and read timeouts.
+		logger.warn("Not calling backend, circuit breaker is open for {}", e.getTenant());
+		long retryAfterSeconds = Math.max(1, e.getRetryAfter().toSeconds());
+		return ResponseEntity.status(SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+				.contentType(APPLICATION_JSON)
+				.body(Collections.singletonMap("error", "backend_unavailable"));
+	}
+
+	@ExceptionHandler(DeadlineExceededException.class)
+	@ResponseStatus(GATEWAY_TIMEOUT)
+	@ResponseBody
+	public Map<String, String> handleDeadlineExceeded(DeadlineExceededException e) {
+		logger.warn(e.getMessage());
+		return Map.of("error", "deadline_exceeded");
+	}
+
 	@ExceptionHandler(InvalidConfigParamException.class)
 	@ResponseStatus(BAD_REQUEST)
 	@ResponseBody
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.PrecomputedCards;
+import com.vmware.connectors.common.metrics.ConnectorMetrics;
+import com.vmware.connectors.common.webhooks.WebhookAdapter;
+import com.vmware.connectors.common.webhooks.WebhookAuthenticationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Receives backend change notifications and drops the precomputed cards of the users they affect.
+ * Requests are not authenticated by the connector's JWT filter; each {@link WebhookAdapter} checks
+ * its backend's shared secret instead.
+ */
+@RestController
+public class WebhookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookController.class);
+
+    private final Map<String, WebhookAdapter> adapters;
+    private final PrecomputedCards precomputedCards;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public WebhookController(
+            List<WebhookAdapter> adapters,
+            PrecomputedCards precomputedCards,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.adapters = adapters.stream()
+                .collect(Collectors.toMap(WebhookAdapter::source, Function.identity()));
+        this.precomputedCards = precomputedCards;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostMapping(path = "/webhooks/{source}")
+    public ResponseEntity<String> receive(
+            @PathVariable("source") String source,
+            ServerHttpRequest request,
+            @RequestBody(required = false) String body
+    ) {
+        WebhookAdapter adapter = adapters.get(source);
+        if (adapter == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String validationResponse = adapter.validationResponse(request.getQueryParams());
+        if (validationResponse != null) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(validationResponse);
+        }
+
+        Set<String> users;
+        try {
+            users = adapter.affectedUsers(request.getHeaders(), parse(body));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            logger.warn("Malformed {} webhook notification", source, e);
+            count(source, "rejected");
+            return ResponseEntity.badRequest().build();
+        } catch (WebhookAuthenticationException e) {
+            logger.warn("Unauthenticated {} webhook notification: {}", source, e.getMessage());
+            count(source, "rejected");
+            return ResponseEntity.status(401).build();
+        }
+
+        int invalidated = users.stream()
+                .mapToInt(precomputedCards::invalidate)
+                .sum();
+        logger.debug("{} webhook notification for {} users dropped {} precomputed cards", source, users.size(), invalidated);
+        count(source, "accepted");
+        return ResponseEntity.accepted().build();
+    }
+
+    private JsonNode parse(String body) throws JsonProcessingException {
+        if (StringUtils.isBlank(body)) {
+            throw new IllegalArgumentException("Empty body");
+        }
+        return objectMapper.readTree(body);
+    }
+
+    private void count(String source, String result) {
+        meterRegistry.counter(ConnectorMetrics.WEBHOOK_NOTIFICATIONS, "source", source, "result", result).increment();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.security.LazyJwtDecoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FastStartupProfileTest {
+
+    @Test
+    void startsWithEagerBeansStillEager(@TempDir Path dir) throws Exception {
+        TestKeys keys = new TestKeys();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TestConnector.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("fast-startup")
+                .properties(Map.of(
+                        "server.port", 0,
+                        "security.oauth2.resource.jwt.key-value", keys.publicKeyPem(),
+                        "connector.blocking-detection.enabled", true,
+                        "connector.precompute.enabled", true,
+                        "connector.precompute.snapshot.enabled", true,
+                        "connector.precompute.snapshot.file", dir.resolve("cards.json.gz").toString()
+                ))
+                .run()) {
+
+            assertTrue(context.getBean(ReactiveJwtDecoder.class) instanceof LazyJwtDecoder);
+            // @Lazy(false) beans are created at startup
+            assertTrue(context.getBeanFactory().containsSingleton("blockHoundInstaller"));
+            assertTrue(context.getBeanFactory().containsSingleton("cardSnapshots"));
+            // Everything else waits for first use
+            assertFalse(context.getBeanFactory().containsSingleton("lastKnownCards"));
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class TestConnector {
+    }
+}
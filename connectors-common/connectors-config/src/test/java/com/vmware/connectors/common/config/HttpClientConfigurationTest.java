@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ClientHttpConnectorAutoConfiguration;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientConfigurationTest {
+
+    private static final String DATA_RECEIVED = "reactor.netty.http.client.data.received";
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(HttpClientConfiguration.class, ClientHttpConnectorAutoConfiguration.class));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private MockWebServer backend;
+
+    @BeforeEach
+    void setup() throws IOException {
+        // Reactor Netty records to the global registry
+        Metrics.addRegistry(registry);
+        backend = new MockWebServer();
+        backend.start();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        Metrics.removeRegistry(registry);
+        backend.shutdown();
+    }
+
+    @Test
+    void replacesBootsConnectorOnItsOwnResources() {
+        runner.run(context -> {
+            assertEquals(1, context.getBeansOfType(ReactorResourceFactory.class).size());
+            assertSame(context.getBean(ReactorResourceFactory.class), context.getBean("reactorClientResourceFactory"));
+            assertEquals(1, context.getBeansOfType(ClientHttpConnector.class).size());
+            assertTrue(context.containsBean("reactorClientHttpConnector"));
+        });
+    }
+
+    @Test
+    void keepsAnExistingResourceFactory() {
+        ReactorResourceFactory existing = new ReactorResourceFactory();
+        runner.withBean("hostResources", ReactorResourceFactory.class, () -> existing)
+                .run(context -> assertSame(existing, context.getBean(ReactorResourceFactory.class)));
+    }
+
+    @Test
+    void resolvesWithTheJdkByDefault() {
+        runner.run(context -> {
+            assertFalse(context.containsBean("dnsResolver"));
+            assertEquals("ok", get(context));
+        });
+    }
+
+    @Test
+    void resolvesWithCachingDnsResolver() {
+        runner.withPropertyValues("connector.dns-cache.enabled=true")
+                .run(context -> {
+                    assertEquals(1, context.getBeansOfType(DnsAddressResolverGroup.class).size());
+                    assertEquals("ok", get(context));
+                });
+    }
+
+    @Test
+    void recordsConnectionMetricsByDefault() {
+        runner.run(context -> {
+            get(context);
+            assertTrue(backendMeters() > 0);
+        });
+    }
+
+    @Test
+    void connectionMetricsCanBeTurnedOff() {
+        runner.withPropertyValues("connector.connection-metrics.enabled=false")
+                .run(context -> {
+                    get(context);
+                    assertEquals(0, backendMeters());
+                });
+    }
+
+    private String get(AssertableApplicationContext context) {
+        backend.enqueue(new MockResponse().setBody("ok"));
+        return WebClient.builder()
+                .clientConnector(context.getBean(ClientHttpConnector.class))
+                .build()
+                .get()
+                .uri(backend.url("/").toString())
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(Duration.ofSeconds(10));
+    }
+
+    // Meters of other tests' backends are still in the global registry's composites
+    private long backendMeters() {
+        return registry.find(DATA_RECEIVED).meters().stream()
+                .map(Meter::getId)
+                .filter(id -> String.valueOf(id.getTag("remote.address")).endsWith(":" + backend.getPort()))
+                .count();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.config;
+
+import com.vmware.connectors.common.security.LazyJwtDecoder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityAutoConfigurationTest {
+
+    private final ReactiveWebApplicationContextRunner runner = new ReactiveWebApplicationContextRunner()
+            .withUserConfiguration(SecurityAutoConfiguration.class);
+
+    private TestKeys keys;
+    private TestKeys otherKeys;
+    private MockWebServer keyServer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        keys = new TestKeys();
+        otherKeys = new TestKeys();
+        keyServer = new MockWebServer();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        keyServer.shutdown();
+    }
+
+    @Test
+    void eagerDecoderVerifiesTokens() {
+        runner.withPropertyValues("security.oauth2.resource.jwt.key-value=" + keys.publicKeyPem())
+                .run(context -> {
+                    ReactiveJwtDecoder decoder = context.getBean(ReactiveJwtDecoder.class);
+                    assertFalse(decoder instanceof LazyJwtDecoder);
+
+                    assertEquals("fred@acme", decoder.decode(keys.token()).block().getClaimAsString("prn"));
+                    assertThrows(JwtException.class, () -> decoder.decode(otherKeys.token()).block());
+                    assertThrows(JwtException.class, () -> decoder.decode("not a token").block());
+                });
+    }
+
+    @Test
+    void eagerDecoderFailsStartupOnBadKey() {
+        runner.withPropertyValues("security.oauth2.resource.jwt.key-value=not a key")
+                .run(context -> assertTrue(context.getStartupFailure() != null));
+    }
+
+    @Test
+    void eagerDecoderFailsStartupWhenKeyFetchFails() {
+        keyServer.enqueue(new MockResponse().setResponseCode(503));
+
+        runner.withPropertyValues("security.oauth2.resource.jwt.key-uri=" + keyServer.url("/key"))
+                .run(context -> assertTrue(context.getStartupFailure() != null));
+    }
+
+    @Test
+    void lazyDecoderRetriesFailedKeyFetch() {
+        keyServer.enqueue(new MockResponse().setResponseCode(503));
+        keyServer.enqueue(new MockResponse().setBody(keys.publicKeyPem()));
+
+        runner.withPropertyValues(
+                "connector.security.lazy-public-key=true",
+                "security.oauth2.resource.jwt.key-uri=" + keyServer.url("/key")
+        ).run(context -> {
+            // Starts without the key
+            assertEquals(0, keyServer.getRequestCount());
+            LazyJwtDecoder decoder = (LazyJwtDecoder) context.getBean(ReactiveJwtDecoder.class);
+
+            assertThrows(RuntimeException.class, () -> decoder.warmUp().block());
+            assertEquals(1, keyServer.getRequestCount());
+
+            assertEquals("fred@acme", decoder.decode(keys.token()).block().getClaimAsString("prn"));
+            assertThrows(JwtException.class, () -> decoder.decode(otherKeys.token()).block());
+            // Loaded once
+            assertEquals(2, keyServer.getRequestCount());
+        });
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommonUtilsTest {
+
+    @Test
+    void buildConnectorUrl() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("https://connectors.example.com/cards/requests").build();
+
+        assertEquals("https://connectors.example.com/images/connector.png", CommonUtils.buildConnectorUrl(request, "/images/connector.png"));
+        assertEquals("https://connectors.example.com", CommonUtils.buildConnectorUrl(request, null));
+    }
+
+    @Test
+    void buildConnectorUrlKeepsContextPath() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("https://connectors.example.com/coupa/cards/requests")
+                .contextPath("/coupa")
+                .build();
+
+        assertEquals("https://connectors.example.com/coupa/images/connector.png", CommonUtils.buildConnectorUrl(request, "/images/connector.png"));
+        assertEquals("https://connectors.example.com/coupa", CommonUtils.buildConnectorUrl(request, null));
+        assertEquals("https://connectors.example.com/coupa/images/connector.png", CommonUtils.buildConnectorImageUrl(request));
+    }
+}
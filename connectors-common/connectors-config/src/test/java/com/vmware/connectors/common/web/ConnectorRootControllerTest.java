@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vmware.connectors.common.config.BinaryCodecsConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.APPLICATION_CBOR;
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.APPLICATION_SMILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectorRootControllerTest {
+
+    private static final String METADATA = "{\"image\":{\"href\":\"${CONNECTOR_HOST}/images/connector.png\"},\"actions\":[]}";
+    private static final String EXPECTED = "{\"image\":{\"href\":\"https://connectors.example.com/images/connector.png\"},\"actions\":[]}";
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    private final WebTestClient client = client();
+
+    @Test
+    void cborMetadata() throws IOException {
+        assertEquals(json.readTree(EXPECTED), binaryMetadata(APPLICATION_CBOR, new CBORFactory()));
+    }
+
+    @Test
+    void smileMetadata() throws IOException {
+        assertEquals(json.readTree(EXPECTED), binaryMetadata(APPLICATION_SMILE, new SmileFactory()));
+    }
+
+    @Test
+    void jsonMetadataIsUnchanged() {
+        client.get().uri("/")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void anyMediaTypeGetsJsonText() {
+        client.get().uri("/")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(EXPECTED);
+    }
+
+    private JsonNode binaryMetadata(MediaType mediaType, JsonFactory factory) throws IOException {
+        byte[] body = client.get().uri("/")
+                .accept(mediaType)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(mediaType)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        return new ObjectMapper(factory).readTree(body);
+    }
+
+    private WebTestClient client() {
+        CodecCustomizer binaryCodecs = new BinaryCodecsConfiguration().binaryCodecCustomizer(Jackson2ObjectMapperBuilder.json());
+        return WebTestClient.bindToController(new ConnectorRootController(METADATA, json))
+                .httpMessageCodecs(binaryCodecs::customize)
+                .configureClient()
+                .baseUrl("https://connectors.example.com")
+                .build();
+    }
+}
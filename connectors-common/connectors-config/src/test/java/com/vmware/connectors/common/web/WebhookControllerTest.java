@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.PrecomputedCards;
+import com.vmware.connectors.common.metrics.ConnectorMetrics;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.webhooks.GraphWebhookAdapter;
+import com.vmware.connectors.common.webhooks.ServiceNowWebhookAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WebhookControllerTest {
+
+    private static final String SECRET = "s3cret";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PrecomputedCards precomputedCards;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        precomputedCards = new PrecomputedCards(
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofHours(1), 100, registry);
+        WebhookController controller = new WebhookController(
+                List.of(new ServiceNowWebhookAdapter(SECRET), new GraphWebhookAdapter(SECRET)),
+                precomputedCards,
+                new ObjectMapper(),
+                registry
+        );
+        client = WebTestClient.bindToController(controller).build();
+
+        precompute("https://snow|jdoe@example.com|en");
+        precompute("https://snow|other@example.com|en");
+        precompute("https://graph|7f3a|en");
+    }
+
+    @Test
+    void unknownSource() {
+        client.post().uri("/webhooks/jira")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"approver_email\": \"jdoe@example.com\"}")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        assertEquals(3, precomputedCards.snapshot().size());
+    }
+
+    @Test
+    void wrongSecret() {
+        client.post().uri("/webhooks/servicenow")
+                .header(ServiceNowWebhookAdapter.SECRET_HEADER, "guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"approver_email\": \"jdoe@example.com\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        assertEquals(3, precomputedCards.snapshot().size());
+        assertEquals(1, count("servicenow", "rejected"));
+    }
+
+    @Test
+    void missingSecret() {
+        client.post().uri("/webhooks/servicenow")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"approver_email\": \"jdoe@example.com\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void emptyBody() {
+        client.post().uri("/webhooks/servicenow")
+                .header(ServiceNowWebhookAdapter.SECRET_HEADER, SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertEquals(1, count("servicenow", "rejected"));
+    }
+
+    @Test
+    void garbageBody() {
+        client.post().uri("/webhooks/servicenow")
+                .header(ServiceNowWebhookAdapter.SECRET_HEADER, SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{not json")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertEquals(3, precomputedCards.snapshot().size());
+    }
+
+    @Test
+    void graphValidationTokenIsEchoed() {
+        client.post().uri("/webhooks/graph?validationToken={token}", "Validation: Testing client application reachability")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+                .expectBody(String.class).isEqualTo("Validation: Testing client application reachability");
+
+        assertEquals(3, precomputedCards.snapshot().size());
+    }
+
+    @Test
+    void acceptedNotificationInvalidatesAffectedUsers() {
+        client.post().uri("/webhooks/servicenow")
+                .header(ServiceNowWebhookAdapter.SECRET_HEADER, SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"sys_id\": \"1\", \"approver_email\": \"JDoe@example.com\"}]")
+                .exchange()
+                .expectStatus().isAccepted();
+
+        assertEquals(Set.of("https://snow|other@example.com|en", "https://graph|7f3a|en"),
+                precomputedCards.snapshot().keySet());
+        assertEquals(1, count("servicenow", "accepted"));
+    }
+
+    @Test
+    void acceptedGraphNotificationInvalidatesAffectedUsers() {
+        client.post().uri("/webhooks/graph")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"value\": [{\"clientState\": \"" + SECRET + "\", \"resource\": \"Users/7f3a/Messages/AAMk\"}]}")
+                .exchange()
+                .expectStatus().isAccepted();
+
+        assertEquals(Set.of("https://snow|jdoe@example.com|en", "https://snow|other@example.com|en"),
+                precomputedCards.snapshot().keySet());
+    }
+
+    private void precompute(String key) {
+        Mono.just(new Cards())
+                .transform(precomputedCards.serve(key))
+                .block();
+    }
+
+    private double count(String source, String result) {
+        return registry.counter(ConnectorMetrics.WEBHOOK_NOTIFICATIONS, "source", source, "result", result).count();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Class loaders for the connectors. Each loads the connector's own classes and resources (its
+ * application.yml, cards/text messages, discovery metadata and static files), and delegates
+ * everything else to the host, so that Spring, Netty and the common libraries are loaded once.
+ * <p>
+ * The libraries of an exploded Spring Boot jar that the host already has are left out, so they are
+ * not found twice, e.g. by SpringFactoriesLoader. A connector built against another version of any
+ * of them is refused: loading it parent-first would run it on libraries it was not built with, and
+ * loading its own copies would give two incompatible Spring or Reactor classes of the same name.
+ * Such a connector has to be rebuilt against the host's versions, or run on its own.
+ */
+final class ConnectorClassLoaders {
+
+    private static final Pattern VERSION = Pattern.compile("-(\\d[^/]*)\\.jar$");
+
+    private ConnectorClassLoaders() {
+        // Do not construct
+    }
+
+    static ClassLoader create(String name, Path location, ClassLoader host) throws IOException {
+        return create(name, location, host, libraries(host));
+    }
+
+    /**
+     * @param hostLibraries the host's versions of its libraries, by artifact
+     */
+    static ClassLoader create(String name, Path location, ClassLoader host, Map<String, String> hostLibraries) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        List<String> mismatches = new ArrayList<>();
+        Path bootClasses = location.resolve("BOOT-INF/classes");
+        if (Files.isDirectory(bootClasses)) {
+            urls.add(bootClasses.toUri().toURL());
+            try (Stream<Path> libs = Files.list(location.resolve("BOOT-INF/lib"))) {
+                for (Path lib : libs.sorted().collect(Collectors.toList())) {
+                    String fileName = lib.getFileName().toString();
+                    String artifact = artifact(fileName);
+                    if (!hostLibraries.containsKey(artifact)) {
+                        urls.add(lib.toUri().toURL());
+                    } else if (!StringUtils.equals(hostLibraries.get(artifact), version(fileName))) {
+                        mismatches.add(fileName + " (host has " + hostLibraries.get(artifact) + ")");
+                    }
+                }
+            }
+        } else {
+            urls.add(location.toUri().toURL());
+        }
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Connector " + name + " was built against other versions of the host's libraries: "
+                    + String.join(", ", mismatches));
+        }
+        return new URLClassLoader("connector-" + name, urls.toArray(new URL[0]), host);
+    }
+
+    private static Map<String, String> libraries(ClassLoader host) {
+        Map<String, String> libraries = new HashMap<>();
+        if (host instanceof URLClassLoader) {
+            // Running from the host's own Spring Boot jar
+            for (URL url : ((URLClassLoader) host).getURLs()) {
+                addLibrary(libraries, StringUtils.removeEnd(url.getPath(), "!/"));
+            }
+        }
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            addLibrary(libraries, entry);
+        }
+        return libraries;
+    }
+
+    private static void addLibrary(Map<String, String> libraries, String jar) {
+        String fileName = StringUtils.substringAfterLast("/" + jar.replace(File.separatorChar, '/'), "/");
+        String version = version(fileName);
+        // Directories of classes, e.g. when run from an IDE, are not libraries a connector could bring
+        if (version != null) {
+            libraries.put(artifact(fileName), version);
+        }
+    }
+
+    private static String artifact(String fileName) {
+        return VERSION.matcher(fileName).replaceFirst("");
+    }
+
+    private static String version(String fileName) {
+        Matcher matcher = VERSION.matcher(fileName);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.AnnotationConfigReactiveWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.http.server.reactive.ContextPathCompositeHandler;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts each connector in its own child application context and routes requests to it by path
+ * prefix. The children share the host's web server, event loops and loaded classes; each keeps its
+ * own configuration, message sources, security, filters and WebClient connection pool.
+ * <p>
+ * Connectors are started before the web server, and stopped after it.
+ */
+class ConnectorHost implements HttpHandler, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectorHost.class);
+
+    private final List<ConnectorSpec> specs;
+    private final ConfigurableApplicationContext host;
+    private final List<ConfigurableApplicationContext> connectors = new ArrayList<>();
+
+    private volatile HttpHandler delegate;
+
+    ConnectorHost(List<ConnectorSpec> specs, ConfigurableApplicationContext host) {
+        this.specs = specs;
+        this.host = host;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHandler handler = delegate;
+        if (handler == null) {
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return response.setComplete();
+        }
+        return handler.handle(request, response);
+    }
+
+    @Override
+    public void start() {
+        Map<String, HttpHandler> handlers = new LinkedHashMap<>();
+        try {
+            for (ConnectorSpec spec : specs) {
+                ConfigurableApplicationContext connector = startConnector(spec);
+                connectors.add(connector);
+                handlers.put(spec.getPath(), WebHttpHandlerBuilder.applicationContext(connector).build());
+                logger.info("Started connector {} at {}", spec.getName(), spec.getPath());
+            }
+        } catch (RuntimeException e) {
+            // The host fails to start, so stop is never called for the connectors already started
+            closeConnectors();
+            throw e;
+        }
+        delegate = new ContextPathCompositeHandler(handlers);
+    }
+
+    private ConfigurableApplicationContext startConnector(ConnectorSpec spec) {
+        Thread thread = Thread.currentThread();
+        ClassLoader hostClassLoader = thread.getContextClassLoader();
+        try {
+            ClassLoader classLoader = ConnectorClassLoaders.create(spec.getName(), Paths.get(spec.getLocation()), hostClassLoader);
+            // For libraries that look up resources with the context class loader while starting
+            thread.setContextClassLoader(classLoader);
+            return new SpringApplicationBuilder(ClassUtils.forName(spec.getMainClass(), classLoader))
+                    .resourceLoader(new DefaultResourceLoader(classLoader))
+                    .contextClass(AnnotationConfigReactiveWebApplicationContext.class)
+                    .web(WebApplicationType.REACTIVE)
+                    .parent(host)
+                    .bannerMode(Banner.Mode.OFF)
+                    .registerShutdownHook(false)
+                    .properties(Map.of("spring.application.name", spec.getName()))
+                    // Primary over the host's reactorServerResourceFactory, which the connector also sees
+                    .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                            "reactorClientResourceFactory", ReactorResourceFactory.class, () -> clientResources(spec),
+                            definition -> definition.setPrimary(true)))
+                    .run(arguments(spec));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to load connector " + spec.getName() + " from " + spec.getLocation(), e);
+        } finally {
+            thread.setContextClassLoader(hostClassLoader);
+        }
+    }
+
+    private static String[] arguments(ConnectorSpec spec) {
+        if (spec.getConfig() == null) {
+            return new String[0];
+        }
+        return new String[] {"--spring.config.additional-location=" + spec.getConfig()};
+    }
+
+    /*
+     * The connector's own connection pool, so that one slow backend cannot take every connection,
+     * on the event loops shared with the web server.
+     */
+    private static ReactorResourceFactory clientResources(ConnectorSpec spec) {
+        ReactorResourceFactory resources = new ReactorResourceFactory();
+        resources.setUseGlobalResources(false);
+        resources.setLoopResources(HttpResources.get());
+        resources.setConnectionProviderSupplier(() -> ConnectionProvider.create("connector-" + spec.getName()));
+        return resources;
+    }
+
+    @Override
+    public void stop() {
+        delegate = null;
+        closeConnectors();
+    }
+
+    private void closeConnectors() {
+        for (int i = connectors.size() - 1; i >= 0; i--) {
+            connectors.get(i).close();
+        }
+        connectors.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return delegate != null;
+    }
+
+    @Override
+    public int getPhase() {
+        // Before WebServerStartStopLifecycle
+        return 0;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.server.reactive.HttpHandler;
+
+import java.util.List;
+
+/**
+ * Runs the connectors listed under host.connectors in connector-host.yml in one JVM:
+ * <pre>
+ *     host:
+ *       connectors:
+ *         - name: coupa
+ *           location: /opt/connectors/hub-coupa-connector
+ *           main-class: com.vmware.connectors.coupa.HubCoupaConnectorApplication
+ *           config: file:/etc/connectors/coupa/
+ * </pre>
+ * The location is a connector's Spring Boot jar, unzipped. Its endpoints are then at /coupa/...,
+ * including its discovery metadata at /coupa/.
+ * <p>
+ * The host itself only has the web server. Everything else is per connector, in a child context,
+ * so that one connector's beans do not replace another's.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        ReactiveWebServerFactoryAutoConfiguration.class
+})
+public class ConnectorHostApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ConnectorHostApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=connector-host")
+                .run(args);
+    }
+
+    @Bean
+    ConnectorHost connectorHost(ConfigurableApplicationContext context) {
+        List<ConnectorSpec> specs = Binder.get(context.getEnvironment())
+                .bind("host.connectors", Bindable.listOf(ConnectorSpec.class))
+                .orElseThrow(() -> new IllegalStateException("No connectors configured under host.connectors"));
+        return new ConnectorHost(specs, context);
+    }
+
+    @Bean
+    HttpHandler httpHandler(ConnectorHost connectorHost) {
+        return connectorHost;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host;
+
+/**
+ * One connector of the host, bound from host.connectors[n] in connector-host.yml.
+ */
+public class ConnectorSpec {
+
+    private String name;
+    private String path;
+    private String location;
+    private String mainClass;
+    private String config;
+
+    /**
+     * @return the connector's name, also its spring.application.name unless its own config sets one
+     */
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the path prefix of the connector's endpoints, "/" + name by default
+     */
+    public String getPath() {
+        return path == null ? "/" + name : path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @return the connector's exploded Spring Boot jar, or a directory or jar of its classes
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    /**
+     * @return the connector's @SpringBootApplication class
+     */
+    public String getMainClass() {
+        return mainClass;
+    }
+
+    public void setMainClass(String mainClass) {
+        this.mainClass = mainClass;
+    }
+
+    /**
+     * @return extra config locations for the connector only, as for spring.config.additional-location
+     */
+    public String getConfig() {
+        return config;
+    }
+
+    public void setConfig(String config) {
+        this.config = config;
+    }
+}
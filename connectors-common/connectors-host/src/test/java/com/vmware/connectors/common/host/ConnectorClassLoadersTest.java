@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectorClassLoadersTest {
+
+    private static final Map<String, String> HOST_LIBRARIES = Map.of(
+            "spring-web", "5.2.13.RELEASE",
+            "connectors-config", "2.9.7"
+    );
+
+    @Test
+    void librariesOfTheHostAreLoadedFromIt(@TempDir Path connector) throws IOException {
+        explode(connector, "spring-web-5.2.13.RELEASE.jar", "connectors-config-2.9.7.jar", "commons-csv-1.8.jar");
+
+        URLClassLoader loader = (URLClassLoader) ConnectorClassLoaders.create("coupa", connector, getClass().getClassLoader(), HOST_LIBRARIES);
+
+        List<String> urls = Arrays.stream(loader.getURLs())
+                .map(URL::getPath)
+                .map(path -> Path.of(path).getFileName().toString())
+                .collect(Collectors.toList());
+        assertEquals(List.of("classes", "commons-csv-1.8.jar"), urls);
+    }
+
+    @Test
+    void otherVersionsOfTheHostsLibrariesAreRefused(@TempDir Path connector) throws IOException {
+        explode(connector, "spring-web-5.3.9.jar", "connectors-config-2.9.6.jar", "commons-csv-1.8.jar");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ConnectorClassLoaders.create("coupa", connector, getClass().getClassLoader(), HOST_LIBRARIES));
+
+        assertTrue(e.getMessage().contains("connectors-config-2.9.6.jar (host has 2.9.7)"), e.getMessage());
+        assertTrue(e.getMessage().contains("spring-web-5.3.9.jar (host has 5.2.13.RELEASE)"), e.getMessage());
+    }
+
+    private static void explode(Path connector, String... libraries) throws IOException {
+        Files.createDirectories(connector.resolve("BOOT-INF/classes"));
+        Path lib = Files.createDirectories(connector.resolve("BOOT-INF/lib"));
+        for (String library : libraries) {
+            Files.createFile(lib.resolve(library));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host;
+
+import com.vmware.connectors.common.host.stub.StubConnectorApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectorHostTest {
+
+    @Test
+    void servesConnectorUnderItsPrefix() throws URISyntaxException {
+        Map<String, Object> properties = connector(0, "stub", StubConnectorApplication.class.getName());
+        int closed = StubConnectorApplication.CLOSED.get();
+
+        try (ConfigurableApplicationContext host = start(properties)) {
+            int port = ((ReactiveWebServerApplicationContext) host).getWebServer().getPort();
+            WebTestClient client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+
+            client.get().uri("/stub/hello")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("stub with its own connection pool");
+            client.get().uri("/other/hello")
+                    .exchange()
+                    .expectStatus().isNotFound();
+        }
+
+        assertEquals(closed + 1, StubConnectorApplication.CLOSED.get());
+    }
+
+    @Test
+    void startedConnectorsAreClosedWhenAnotherFails() throws URISyntaxException {
+        Map<String, Object> properties = connector(0, "stub", StubConnectorApplication.class.getName());
+        properties.putAll(connector(1, "missing", "com.vmware.connectors.missing.MissingConnectorApplication"));
+        int closed = StubConnectorApplication.CLOSED.get();
+
+        assertThrows(RuntimeException.class, () -> start(properties).close());
+
+        assertEquals(closed + 1, StubConnectorApplication.CLOSED.get());
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, Object> connectors) {
+        Map<String, Object> properties = new HashMap<>(connectors);
+        properties.put("server.port", 0);
+        return new SpringApplicationBuilder(ConnectorHostApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=connector-host")
+                .properties(properties)
+                .run();
+    }
+
+    // A directory of classes, here the test classes
+    private static Map<String, Object> connector(int index, String name, String mainClass) throws URISyntaxException {
+        String location = Paths.get(StubConnectorApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("host.connectors[" + index + "].name", name);
+        properties.put("host.connectors[" + index + "].location", location);
+        properties.put("host.connectors[" + index + "].main-class", mainClass);
+        return properties;
+    }
+}
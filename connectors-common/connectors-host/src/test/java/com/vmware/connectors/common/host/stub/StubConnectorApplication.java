@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.host.stub;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * The least a connector needs to be hosted: a WebFlux endpoint, and a bean that takes the
+ * connector's client resources the way Boot's WebClient auto-configuration does.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        WebFluxAutoConfiguration.class
+})
+public class StubConnectorApplication {
+
+    public static final AtomicInteger CLOSED = new AtomicInteger();
+
+    @Bean
+    public RouterFunction<ServerResponse> routes(
+            @Value("${spring.application.name}") String name,
+            ReactorResourceFactory resources
+    ) {
+        String pool = resources.isUseGlobalResources() ? "the global connection pool" : "its own connection pool";
+        return route(GET("/hello"), request -> ServerResponse.ok().bodyValue(name + " with " + pool));
+    }
+
+    @Bean
+    public DisposableBean closeCounter() {
+        return CLOSED::incrementAndGet;
+    }
+}
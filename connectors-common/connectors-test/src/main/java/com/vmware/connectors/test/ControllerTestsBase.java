@@ -8,6 +8,7 @@ package com.vmware.connectors.test;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
+import com.vmware.connectors.mock.BackendCalls;
 import com.vmware.connectors.mock.MockWebServerWrapper;
 import com.vmware.connectors.mock.PhaserClientHttpConnector;
 import io.restassured.module.jsv.JsonSchemaValidator;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientCodecCustomizer;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -28,6 +30,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -93,6 +96,13 @@ public class ControllerTestsBase {
         mockBackend.shutdown();
     }
 
+    /**
+     * @return the calls made to the mock backend so far in this test, to assert on the connector's I/O footprint
+     */
+    protected BackendCalls backendCalls() {
+        return mockBackend.calls();
+    }
+
     protected String accessToken(String uri) {
         try {
             String audience = "http://localhost:" + connectorPort + uri;
@@ -270,11 +280,18 @@ public class ControllerTestsBase {
     @TestConfiguration
     static class ControllerTestConfiguration {
 
+        /*
+         * The phaser holds back responses until every parallel backend call has one, which keeps
+         * functional tests deterministic but would stall continuous load. LoadTestsBase turns it off.
+         */
         @Bean
-        public WebClient.Builder webClientBuilder(WebClientCodecCustomizer codecCustomizer) {
+        public WebClient.Builder webClientBuilder(
+                WebClientCodecCustomizer codecCustomizer,
+                @Value("${connector.test.synchronize-backend-responses:true}") boolean synchronizeResponses
+        ) {
             WebClient.Builder builder = WebClient.builder();
             codecCustomizer.customize(builder);
-            return builder.clientConnector(new PhaserClientHttpConnector());
+            return builder.clientConnector(synchronizeResponses ? new PhaserClientHttpConnector() : new ReactorClientHttpConnector());
         }
     }
 }
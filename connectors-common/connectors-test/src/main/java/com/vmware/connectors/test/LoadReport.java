@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Results of running a {@link LoadScenario} for one inbox size.
+ */
+public class LoadReport {
+
+    private final String name;
+    private final int inboxSize;
+    private final int users;
+    private final int requests;
+    private final int errors;
+    private final double throughput;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double backendCallsPerRequest;
+    private final long allocatedBytesPerRequest;
+    private final double allocationMegabytesPerSecond;
+
+    LoadReport(LoadScenario scenario, int inboxSize, long[] latencyNanos, int errors,
+               long elapsedNanos, int backendCalls, long allocatedBytes) {
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        this.name = scenario.getName();
+        this.inboxSize = inboxSize;
+        this.users = scenario.getUsers();
+        this.requests = sorted.length;
+        this.errors = errors;
+        this.throughput = requests / seconds;
+        this.p50Millis = percentile(sorted, 0.50);
+        this.p90Millis = percentile(sorted, 0.90);
+        this.p99Millis = percentile(sorted, 0.99);
+        this.maxMillis = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6;
+        this.backendCallsPerRequest = requests == 0 ? 0 : (double) backendCalls / requests;
+        this.allocatedBytesPerRequest = requests == 0 ? 0 : allocatedBytes / requests;
+        this.allocationMegabytesPerSecond = allocatedBytes / 1e6 / seconds;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInboxSize() {
+        return inboxSize;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP90Millis() {
+        return p90Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getBackendCallsPerRequest() {
+        return backendCallsPerRequest;
+    }
+
+    /**
+     * Includes allocation by the mock backend and the load test's users, which run in the same JVM.
+     */
+    public long getAllocatedBytesPerRequest() {
+        return allocatedBytesPerRequest;
+    }
+
+    public double getAllocationMegabytesPerSecond() {
+        return allocationMegabytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s inbox=%d users=%d requests=%d errors=%d throughput=%.1f/s p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms"
+                        + " backendCalls/request=%.1f allocated/request=%dB allocation=%.1fMB/s",
+                name, inboxSize, users, requests, errors, throughput, p50Millis, p90Millis, p99Millis, maxMillis,
+                backendCallsPerRequest, allocatedBytesPerRequest, allocationMegabytesPerSecond);
+    }
+}
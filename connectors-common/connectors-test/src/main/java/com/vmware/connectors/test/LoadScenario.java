@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.test;
+
+import com.vmware.connectors.mock.LatencyProfile;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * What {@link LoadTestsBase#runLoad} drives the connector with. Use the Builder to create one.
+ */
+public final class LoadScenario {
+
+    private String name = "load";
+    private int users = 10;
+    private int requestsPerUser = 50;
+    private int warmupRequestsPerUser = 5;
+    private List<Integer> inboxSizes = List.of(10);
+    private LatencyProfile latencyProfile = LatencyProfile.none();
+    private Duration timeout = Duration.ofSeconds(30);
+    private IntConsumer backendSetup = inboxSize -> { };
+    private Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>> request;
+
+    private LoadScenario() {
+        // Use the Builder
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getRequestsPerUser() {
+        return requestsPerUser;
+    }
+
+    public int getWarmupRequestsPerUser() {
+        return warmupRequestsPerUser;
+    }
+
+    public List<Integer> getInboxSizes() {
+        return inboxSizes;
+    }
+
+    public LatencyProfile getLatencyProfile() {
+        return latencyProfile;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public IntConsumer getBackendSetup() {
+        return backendSetup;
+    }
+
+    public Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>> getRequest() {
+        return request;
+    }
+
+    public static class Builder {
+
+        private final LoadScenario scenario = new LoadScenario();
+
+        /**
+         * @param name names the report files
+         */
+        public Builder setName(String name) {
+            scenario.name = name;
+            return this;
+        }
+
+        /**
+         * @param users how many users send requests concurrently, each waiting for its previous response
+         */
+        public Builder setUsers(int users) {
+            scenario.users = users;
+            return this;
+        }
+
+        public Builder setRequestsPerUser(int requestsPerUser) {
+            scenario.requestsPerUser = requestsPerUser;
+            return this;
+        }
+
+        public Builder setWarmupRequestsPerUser(int warmupRequestsPerUser) {
+            scenario.warmupRequestsPerUser = warmupRequestsPerUser;
+            return this;
+        }
+
+        /**
+         * @param inboxSizes the scenario is run once for each of these, to show how cost grows with the inbox
+         */
+        public Builder setInboxSizes(Integer... inboxSizes) {
+            scenario.inboxSizes = List.of(inboxSizes);
+            return this;
+        }
+
+        public Builder setLatencyProfile(LatencyProfile latencyProfile) {
+            scenario.latencyProfile = latencyProfile;
+            return this;
+        }
+
+        public Builder setTimeout(Duration timeout) {
+            scenario.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param backendSetup registers the mock backend's expectations (typically with ExpectedCount.manyTimes())
+         *                     for an inbox of the given size
+         */
+        public Builder setBackendSetup(IntConsumer backendSetup) {
+            scenario.backendSetup = backendSetup;
+            return this;
+        }
+
+        /**
+         * @param request builds one request to the connector, including its headers
+         */
+        public Builder setRequest(Function<WebTestClient, WebTestClient.RequestHeadersSpec<?>> request) {
+            scenario.request = request;
+            return this;
+        }
+
+        public LoadScenario build() {
+            if (scenario.request == null) {
+                throw new IllegalStateException("A load scenario needs a request");
+            }
+            return scenario;
+        }
+    }
+}
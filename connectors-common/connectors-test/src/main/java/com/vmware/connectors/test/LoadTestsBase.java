@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for in-JVM load tests of a connector against its mock backend. Subclasses describe
+ * a {@link LoadScenario} and call {@link #runLoad}, which reports throughput, latency percentiles,
+ * allocation and backend calls per request for each inbox size. Reports are logged and written as
+ * JSON to target/load-reports, so runs of two versions can be compared.
+ * <p>
+ * Load tests are slow; keep them out of the default build, e.g. with a JUnit tag.
+ */
+@TestPropertySource(properties = "connector.test.synchronize-backend-responses=false")
+public class LoadTestsBase extends ControllerTestsBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestsBase.class);
+
+    private static final Path REPORT_DIR = Paths.get("target", "load-reports");
+
+    protected List<LoadReport> runLoad(LoadScenario scenario) throws IOException, InterruptedException {
+        WebTestClient client = webClient.mutate()
+                .responseTimeout(scenario.getTimeout())
+                .build();
+        List<LoadReport> reports = new ArrayList<>();
+        for (int inboxSize : scenario.getInboxSizes()) {
+            mockBackend.reset();
+            scenario.getBackendSetup().accept(inboxSize);
+            mockBackend.setLatencyProfile(scenario.getLatencyProfile());
+
+            run(scenario, client, scenario.getWarmupRequestsPerUser(), new AtomicInteger());
+
+            AtomicInteger errors = new AtomicInteger();
+            int backendCallsBefore = mockBackend.getRequestCount();
+            long start = System.nanoTime();
+            Measurement measurement = run(scenario, client, scenario.getRequestsPerUser(), errors);
+            long elapsed = System.nanoTime() - start;
+
+            LoadReport report = new LoadReport(scenario, inboxSize, measurement.latencies, errors.get(), elapsed,
+                    mockBackend.getRequestCount() - backendCallsBefore, measurement.allocatedBytes);
+            logger.info("{}", report);
+            write(report);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    /*
+     * Allocation is counted per thread: the users count their own, and the other threads (event loops,
+     * the mock backend) count what they allocated while the users ran. Threads that start and end during
+     * the run, other than the users, are missed.
+     */
+    static Measurement run(LoadScenario scenario, WebTestClient client, int requestsPerUser, AtomicInteger errors)
+            throws InterruptedException {
+        Map<Long, Long> otherThreadsBefore = allocatedBytesByThread();
+        ExecutorService users = Executors.newFixedThreadPool(scenario.getUsers());
+        try {
+            List<Future<Measurement>> results = new ArrayList<>();
+            for (int user = 0; user < scenario.getUsers(); user++) {
+                results.add(users.submit(() -> runUser(scenario, client, requestsPerUser, errors)));
+            }
+            long[] latencies = new long[0];
+            long allocatedBytes = 0;
+            for (Future<Measurement> result : results) {
+                Measurement user = result.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + user.latencies.length);
+                System.arraycopy(user.latencies, 0, latencies, offset, user.latencies.length);
+                allocatedBytes += user.allocatedBytes;
+            }
+            // The user threads started after the first reading, so they are not counted twice
+            return new Measurement(latencies, allocatedBytes + allocatedBytesSince(otherThreadsBefore));
+        } catch (ExecutionException e) {
+            throw new AssertionError("Load test user failed", e.getCause());
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private static Measurement runUser(LoadScenario scenario, WebTestClient client, int requests, AtomicInteger errors) {
+        long allocatedBefore = threadMXBean().getThreadAllocatedBytes(Thread.currentThread().getId());
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            EntityExchangeResult<byte[]> result = scenario.getRequest().apply(client)
+                    .exchange()
+                    .expectBody(byte[].class)
+                    .returnResult();
+            latencies[i] = System.nanoTime() - start;
+            if (!result.getStatus().is2xxSuccessful()) {
+                errors.incrementAndGet();
+            }
+        }
+        long allocated = threadMXBean().getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+        return new Measurement(latencies, allocated);
+    }
+
+    private static Map<Long, Long> allocatedBytesByThread() {
+        long[] ids = threadMXBean().getAllThreadIds();
+        long[] bytes = threadMXBean().getThreadAllocatedBytes(ids);
+        Map<Long, Long> byThread = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                byThread.put(ids[i], bytes[i]);
+            }
+        }
+        return byThread;
+    }
+
+    private static long allocatedBytesSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytesByThread().entrySet()) {
+            Long previous = before.get(thread.getKey());
+            if (previous != null && thread.getValue() > previous) {
+                total += thread.getValue() - previous;
+            }
+        }
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    private void write(LoadReport report) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        mapper.writerWithDefaultPrettyPrinter()
+                .writeValue(REPORT_DIR.resolve(report.getName() + "-inbox-" + report.getInboxSize() + ".json").toFile(), report);
+    }
+
+    static final class Measurement {
+        final long[] latencies;
+        final long allocatedBytes;
+
+        Measurement(long[] latencies, long allocatedBytes) {
+            this.latencies = latencies;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
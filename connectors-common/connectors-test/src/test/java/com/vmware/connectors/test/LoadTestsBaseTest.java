@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.test;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+class LoadTestsBaseTest {
+
+    private static final int RESPONSE_BYTES = 64 * 1024;
+
+    private final WebTestClient client = WebTestClient.bindToRouterFunction(RouterFunctions
+            .route(GET("/cards"), request -> ServerResponse.ok().bodyValue(new byte[RESPONSE_BYTES]))
+            .andRoute(GET("/error"), request -> ServerResponse.status(HttpStatus.BAD_GATEWAY).build()))
+            .build();
+
+    @Test
+    void measuresEveryRequestOfEveryUser() throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+
+        LoadTestsBase.Measurement measurement = LoadTestsBase.run(scenario("/cards"), client, 10, errors);
+
+        assertEquals(40, measurement.latencies.length);
+        assertEquals(0, errors.get());
+    }
+
+    @Test
+    void countsAllocationOfUsersThatHaveFinished() throws InterruptedException {
+        // Start the scheduler threads the mock server runs on, as a real connector's would be
+        LoadTestsBase.run(scenario("/cards"), client, 1, new AtomicInteger());
+
+        LoadTestsBase.Measurement measurement = LoadTestsBase.run(scenario("/cards"), client, 10, new AtomicInteger());
+
+        // The user threads are gone by now; between them and the server, every response was allocated
+        assertTrue(measurement.allocatedBytes >= 40L * RESPONSE_BYTES,
+                "allocated " + measurement.allocatedBytes + " bytes");
+    }
+
+    @Test
+    void countsErrors() throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+
+        LoadTestsBase.run(scenario("/error"), client, 5, errors);
+
+        assertEquals(20, errors.get());
+    }
+
+    private static LoadScenario scenario(String path) {
+        return new LoadScenario.Builder()
+                .setUsers(4)
+                .setRequest(client -> client.get().uri(path))
+                .build();
+    }
+}
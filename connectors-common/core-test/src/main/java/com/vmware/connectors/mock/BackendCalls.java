@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The calls a mock backend received during a test, with fluent assertions to pin a connector's I/O footprint:
+ * <pre>
+ *     mockBackend.calls()
+ *             .atMost(3)
+ *             .noDuplicateGets()
+ *             .to(GET, "/api/requisitions/{id}").atMost(1);
+ * </pre>
+ */
+public class BackendCalls {
+
+    private static final PathPatternParser PARSER = new PathPatternParser();
+
+    private final List<Call> calls;
+
+    BackendCalls(Collection<Call> calls) {
+        this.calls = List.copyOf(calls);
+    }
+
+    public List<Call> getCalls() {
+        return calls;
+    }
+
+    public long getResponseBytes() {
+        return calls.stream().mapToLong(Call::getResponseBytes).sum();
+    }
+
+    public BackendCalls atMost(int max) {
+        if (calls.size() > max) {
+            throw new AssertionError("Expected at most " + max + " backend calls but got " + calls.size() + describe(calls));
+        }
+        return this;
+    }
+
+    /**
+     * Fails if the same GET (method, path and query) was sent more than once, which usually means a missing cache
+     * or two code paths fetching the same data.
+     */
+    public BackendCalls noDuplicateGets() {
+        Map<String, Long> duplicates = calls.stream()
+                .filter(call -> call.getMethod() == HttpMethod.GET)
+                .collect(Collectors.groupingBy(Call::toString, Collectors.counting()))
+                .entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (!duplicates.isEmpty()) {
+            throw new AssertionError("Expected no duplicate GETs but got " + duplicates);
+        }
+        return this;
+    }
+
+    /**
+     * @param method the calls' method
+     * @param pathPattern the calls' path, which may contain {variables}; the query is ignored
+     * @return the calls to that route
+     */
+    public Route to(HttpMethod method, String pathPattern) {
+        PathPattern pattern = PARSER.parse(pathPattern);
+        List<Call> matching = calls.stream()
+                .filter(call -> call.getMethod() == method && pattern.matches(PathContainer.parsePath(call.getPath())))
+                .collect(Collectors.toList());
+        return new Route(method + " " + pathPattern, matching);
+    }
+
+    private static String describe(List<Call> calls) {
+        return calls.stream().map(Call::toString).collect(Collectors.joining("\n  ", ":\n  ", ""));
+    }
+
+    public final class Route {
+
+        private final String name;
+        private final List<Call> matching;
+
+        private Route(String name, List<Call> matching) {
+            this.name = name;
+            this.matching = matching;
+        }
+
+        public int getCount() {
+            return matching.size();
+        }
+
+        public long getResponseBytes() {
+            return matching.stream().mapToLong(Call::getResponseBytes).sum();
+        }
+
+        public BackendCalls atMost(int max) {
+            return check(matching.size() <= max, "at most " + max + " calls");
+        }
+
+        public BackendCalls exactly(int count) {
+            return check(matching.size() == count, "exactly " + count + " calls");
+        }
+
+        public BackendCalls never() {
+            return exactly(0);
+        }
+
+        public BackendCalls responseBytesAtMost(long max) {
+            return check(getResponseBytes() <= max, "at most " + max + " response bytes", Call::describeBytes);
+        }
+
+        private BackendCalls check(boolean passed, String expected) {
+            return check(passed, expected, Call::toString);
+        }
+
+        private BackendCalls check(boolean passed, String expected, Function<Call, String> describer) {
+            if (!passed) {
+                throw new AssertionError("Expected " + expected + " to " + name + " but got " + matching.size()
+                        + matching.stream().map(describer).collect(Collectors.joining("\n  ", ":\n  ", "")));
+            }
+            return BackendCalls.this;
+        }
+    }
+
+    /**
+     * One request received by the mock backend.
+     */
+    public static class Call {
+
+        private final HttpMethod method;
+        private final String path;
+        private final String query;
+        private final int status;
+        private final long requestBytes;
+        private final long responseBytes;
+
+        Call(HttpMethod method, String path, String query, int status, long requestBytes, long responseBytes) {
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.status = status;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the raw query string, or null if there was none
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * @return the status the backend responded with, after any error from the latency profile
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        public long getRequestBytes() {
+            return requestBytes;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+
+        private String describeBytes() {
+            return this + " (" + requestBytes + " bytes sent, " + status + " with " + responseBytes + " received)";
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path + (query == null ? "" : "?" + query);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import okhttp3.mockwebserver.MockResponse;
+
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * How long a stubbed backend takes to respond, and how often it fails. Used to make a mock backend
+ * behave like a real tenant under load:
+ * <pre>
+ *     mockBackend.setLatencyProfile(LatencyProfile.logNormal(Duration.ofMillis(80), Duration.ofMillis(600))
+ *             .withErrors(0.01, 503));
+ * </pre>
+ */
+public final class LatencyProfile {
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final LongSupplier delayMillis;
+    private final double errorRate;
+    private final int errorStatus;
+
+    private LatencyProfile(LongSupplier delayMillis, double errorRate, int errorStatus) {
+        this.delayMillis = delayMillis;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+
+    public static LatencyProfile none() {
+        return new LatencyProfile(() -> 0, 0, 0);
+    }
+
+    public static LatencyProfile fixed(Duration delay) {
+        long millis = delay.toMillis();
+        return new LatencyProfile(() -> millis, 0, 0);
+    }
+
+    public static LatencyProfile uniform(Duration min, Duration max) {
+        long minMillis = min.toMillis();
+        long maxMillis = max.toMillis();
+        return new LatencyProfile(() -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1), 0, 0);
+    }
+
+    /**
+     * A long-tailed profile, like most real backends.
+     *
+     * @param median the median delay
+     * @param p99 the 99th percentile delay; must be greater than the median
+     * @return the profile
+     */
+    public static LatencyProfile logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toMillis());
+        double sigma = Math.log((double) p99.toMillis() / median.toMillis()) / Z_99;
+        return new LatencyProfile(() -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian())), 0, 0);
+    }
+
+    /**
+     * @param rate the fraction of responses, between 0 and 1, to replace with an error
+     * @param status the error's HTTP status
+     * @return a copy of this profile that also fails some responses
+     */
+    public LatencyProfile withErrors(double rate, int status) {
+        return new LatencyProfile(delayMillis, rate, status);
+    }
+
+    public Duration nextDelay() {
+        return Duration.ofMillis(delayMillis.getAsLong());
+    }
+
+    /**
+     * @return the status of an error to respond with instead of the stubbed response, if this one should fail
+     */
+    public OptionalInt nextError() {
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return OptionalInt.of(errorStatus);
+        }
+        return OptionalInt.empty();
+    }
+
+    MockResponse apply(MockResponse response) {
+        OptionalInt error = nextError();
+        MockResponse result = error.isPresent() ? new MockResponse().setResponseCode(error.getAsInt()) : response;
+        long delay = delayMillis.getAsLong();
+        if (delay > 0) {
+            result.setHeadersDelay(delay, TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+}
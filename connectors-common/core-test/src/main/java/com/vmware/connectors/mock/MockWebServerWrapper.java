@@ -19,11 +19,15 @@ import org.springframework.test.web.client.*;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class MockWebServerWrapper {
     private final MockWebServer mockWebServer;
     private final RequestExpectationManager expectationManager = new SynchronizedRequestExpectationManager(
                                                                             new UnorderedRequestExpectationManager());
+    private volatile LatencyProfile latencyProfile = LatencyProfile.none();
+    private final Queue<BackendCalls.Call> calls = new ConcurrentLinkedQueue<>();
 
     public MockWebServerWrapper(MockWebServer mockWebServer) {
         this.mockWebServer = mockWebServer;
@@ -42,12 +46,33 @@ public class MockWebServerWrapper {
         expectationManager.verify();
     }
 
+    /**
+     * Delays (and optionally fails) the responses to all requests from now on.
+     */
+    public void setLatencyProfile(LatencyProfile latencyProfile) {
+        this.latencyProfile = latencyProfile;
+    }
+
+    public int getRequestCount() {
+        return mockWebServer.getRequestCount();
+    }
+
+    /**
+     * @return the calls received so far, for assertions on how many calls the connector made
+     */
+    public BackendCalls calls() {
+        return new BackendCalls(calls);
+    }
+
     private Dispatcher dispatcher() {
         return new Dispatcher() {
             @Override
             public MockResponse dispatch(RecordedRequest request) {
                  try {
-                    return toResponse(expectationManager.validateRequest(toRequest(request)));
+                    // Record what is actually sent, which the latency profile may have replaced with an error
+                    MockResponse response = latencyProfile.apply(toResponse(expectationManager.validateRequest(toRequest(request))));
+                    calls.add(toCall(request, response));
+                    return response;
                 } catch (IOException e) {
                     throw new RuntimeException(e); //NOPMD don't care about tests, thanks
                 }
@@ -65,6 +90,8 @@ public class MockWebServerWrapper {
 
     public void reset() {
         expectationManager.reset();
+        calls.clear();
+        latencyProfile = LatencyProfile.none();
     }
 
     private static ClientHttpRequest toRequest(RecordedRequest request) throws IOException {
@@ -77,6 +104,16 @@ public class MockWebServerWrapper {
         return clientRequest;
     }
 
+    private static BackendCalls.Call toCall(RecordedRequest request, MockResponse response) {
+        String[] pathAndQuery = request.getPath().split("\\?", 2);
+        Buffer body = response.getBody();
+        // The status line is e.g. "HTTP/1.1 200 OK"
+        int status = Integer.parseInt(response.getStatus().split(" ")[1]);
+        return new BackendCalls.Call(HttpMethod.valueOf(request.getMethod()), pathAndQuery[0],
+                pathAndQuery.length > 1 ? pathAndQuery[1] : null,
+                status, request.getBodySize(), body == null ? 0 : body.size());
+    }
+
     private static MockResponse toResponse(ClientHttpResponse clientResponse) throws IOException {
         MockResponse mockResponse = new MockResponse();
         mockResponse.setResponseCode(clientResponse.getStatusCode().value());
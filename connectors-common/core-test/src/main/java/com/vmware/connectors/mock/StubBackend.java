@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A stub backend for concurrency and throughput tests, where {@link MockWebServerWrapper} would
+ * serialise the traffic through its expectation manager.
+ * <p>
+ * Requests are matched against routes in the order they were added, and any number of requests
+ * may match a route, in any order. Matching takes no locks, and responses (including injected latency)
+ * are served without blocking a thread, so the stub can keep up with thousands of requests per second.
+ * There is nothing to verify afterwards; assert on the request counts instead.
+ * <pre>
+ *     StubBackend backend = StubBackend.start()
+ *             .route(HttpMethod.GET, "/api/approvals", request -> StubResponse.json(approvals))
+ *             .route(HttpMethod.GET, "/api/requisitions/{id}", request -> StubResponse.json(requisition(request.getPathVariable("id"))))
+ *             .setLatencyProfile(LatencyProfile.uniform(Duration.ofMillis(20), Duration.ofMillis(80)));
+ * </pre>
+ */
+public final class StubBackend implements Closeable {
+
+    private static final PathPatternParser PARSER = new PathPatternParser();
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Queue<String> unmatched = new ConcurrentLinkedQueue<>();
+    private final DisposableServer server;
+    private volatile LatencyProfile latencyProfile = LatencyProfile.none();
+
+    private StubBackend() {
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle(this::handle)
+                .bindNow();
+    }
+
+    public static StubBackend start() {
+        return new StubBackend();
+    }
+
+    /**
+     * @param method the request method to match
+     * @param pathPattern the path to match, which may contain {variables}
+     * @param responder creates the response; called concurrently, so it must be thread-safe
+     * @return this backend
+     */
+    public StubBackend route(HttpMethod method, String pathPattern, Function<StubRequest, StubResponse> responder) {
+        routes.add(new Route(method, PARSER.parse(pathPattern), responder));
+        return this;
+    }
+
+    public StubBackend setLatencyProfile(LatencyProfile latencyProfile) {
+        this.latencyProfile = latencyProfile;
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://localhost:" + server.port() + path;
+    }
+
+    /**
+     * @return the number of requests matched by the route
+     */
+    public long getRequestCount(HttpMethod method, String pathPattern) {
+        LongAdder count = counts.get(key(method, pathPattern));
+        return count == null ? 0 : count.sum();
+    }
+
+    public long getRequestCount() {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum() + unmatched.size();
+    }
+
+    /**
+     * @return the method and URI of each request that matched no route, and got a 404
+     */
+    public List<String> getUnmatchedRequests() {
+        return List.copyOf(unmatched);
+    }
+
+    /**
+     * Removes all routes, counts and latency.
+     */
+    public void reset() {
+        routes.clear();
+        counts.clear();
+        unmatched.clear();
+        latencyProfile = LatencyProfile.none();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        HttpMethod method = HttpMethod.resolve(request.method().name());
+        UriComponents uri = UriComponentsBuilder.fromUriString(request.uri()).build();
+        PathContainer path = PathContainer.parsePath(uri.getPath() == null ? "/" : uri.getPath());
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.method == method ? route.pattern.matchAndExtract(path) : null;
+            if (match != null) {
+                counts.computeIfAbsent(key(route.method, route.pattern.getPatternString()), key -> new LongAdder()).increment();
+                HttpHeaders headers = new HttpHeaders();
+                request.requestHeaders().forEach(header -> headers.add(header.getKey(), header.getValue()));
+                return request.receive().aggregate().asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(body -> route.responder.apply(new StubRequest(method, path.value(), uri.getQueryParams(),
+                                headers, match.getUriVariables(), body)))
+                        .flatMap(stubResponse -> send(stubResponse, response));
+            }
+        }
+        unmatched.add(request.method().name() + " " + request.uri());
+        return response.status(HttpResponseStatus.NOT_FOUND).send();
+    }
+
+    private Mono<Void> send(StubResponse stubResponse, HttpServerResponse response) {
+        LatencyProfile profile = latencyProfile;
+        OptionalInt error = profile.nextError();
+        StubResponse actual = error.isPresent() ? StubResponse.status(HttpStatus.valueOf(error.getAsInt())) : stubResponse;
+        Duration delay = profile.nextDelay();
+        Mono<Void> send = Mono.defer(() -> {
+            response.status(actual.getStatus());
+            actual.getHeaders().forEach((name, values) -> response.header(name, String.join(",", values)));
+            return response.sendByteArray(Mono.just(actual.body())).then();
+        });
+        return delay.isZero() ? send : Mono.delay(delay).then(send);
+    }
+
+    private static String key(HttpMethod method, String pathPattern) {
+        return method + " " + pathPattern;
+    }
+
+    private static class Route {
+        private final HttpMethod method;
+        private final PathPattern pattern;
+        private final Function<StubRequest, StubResponse> responder;
+
+        Route(HttpMethod method, PathPattern pattern, Function<StubRequest, StubResponse> responder) {
+            this.method = method;
+            this.pattern = pattern;
+            this.responder = responder;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A request received by a {@link StubBackend}.
+ */
+public class StubRequest {
+
+    private final HttpMethod method;
+    private final String path;
+    private final MultiValueMap<String, String> queryParams;
+    private final HttpHeaders headers;
+    private final Map<String, String> pathVariables;
+    private final byte[] body;
+
+    StubRequest(HttpMethod method, String path, MultiValueMap<String, String> queryParams, HttpHeaders headers,
+                Map<String, String> pathVariables, byte[] body) {
+        this.method = method;
+        this.path = path;
+        this.queryParams = queryParams;
+        this.headers = headers;
+        this.pathVariables = pathVariables;
+        this.body = body;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public MultiValueMap<String, String> getQueryParams() {
+        return queryParams;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the values of the route's {variables}
+     */
+    public Map<String, String> getPathVariables() {
+        return pathVariables;
+    }
+
+    public String getPathVariable(String name) {
+        return pathVariables.get(name);
+    }
+
+    public byte[] getBody() {
+        return body.clone();
+    }
+
+    public String getBodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
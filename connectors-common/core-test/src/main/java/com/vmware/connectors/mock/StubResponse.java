@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A response served by a {@link StubBackend}. Immutable, so one instance can be shared by all requests.
+ */
+public final class StubResponse {
+
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private StubResponse(int status, HttpHeaders headers, byte[] body) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    public static StubResponse json(String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new StubResponse(HttpStatus.OK.value(), headers, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StubResponse status(HttpStatus status) {
+        return new StubResponse(status.value(), new HttpHeaders(), new byte[0]);
+    }
+
+    public static StubResponse of(int status, HttpHeaders headers, byte[] body) {
+        return new StubResponse(status, headers, body.clone());
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    byte[] body() {
+        return body;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.client.ExpectedCount;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BackendCallsTest {
+
+    private final OkHttpClient client = new OkHttpClient();
+
+    private MockWebServerWrapper mockBackend;
+
+    @BeforeEach
+    void setup() {
+        mockBackend = new MockWebServerWrapper(new MockWebServer());
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        mockBackend.shutdown();
+    }
+
+    @Test
+    void recordsCalls() throws IOException {
+        mockBackend.expect(ExpectedCount.manyTimes(), requestTo("/api/approvals?status=pending"))
+                .andRespond(withSuccess("approvals", TEXT_PLAIN));
+
+        get("/api/approvals?status=pending");
+
+        List<BackendCalls.Call> calls = mockBackend.calls().getCalls();
+        assertEquals(1, calls.size());
+        assertEquals(GET, calls.get(0).getMethod());
+        assertEquals("/api/approvals", calls.get(0).getPath());
+        assertEquals("status=pending", calls.get(0).getQuery());
+        assertEquals(200, calls.get(0).getStatus());
+        assertEquals("approvals".length(), calls.get(0).getResponseBytes());
+    }
+
+    @Test
+    void recordsErrorsFromLatencyProfile() throws IOException {
+        mockBackend.expect(requestTo("/api/approvals"))
+                .andRespond(withSuccess("approvals", TEXT_PLAIN));
+        mockBackend.setLatencyProfile(LatencyProfile.none().withErrors(1, 503));
+
+        assertEquals(503, get("/api/approvals"));
+
+        BackendCalls.Call call = mockBackend.calls().getCalls().get(0);
+        assertEquals(503, call.getStatus());
+        assertEquals(0, call.getResponseBytes());
+        assertNull(call.getQuery());
+    }
+
+    @Test
+    void countsCallsPerRoute() throws IOException {
+        mockBackend.expect(ExpectedCount.manyTimes(), requestTo("/api/requisitions/1"))
+                .andRespond(withSuccess("one", TEXT_PLAIN));
+        mockBackend.expect(ExpectedCount.manyTimes(), requestTo("/api/requisitions/2"))
+                .andRespond(withSuccess("two", TEXT_PLAIN));
+
+        get("/api/requisitions/1");
+        get("/api/requisitions/2");
+
+        BackendCalls calls = mockBackend.calls();
+        calls.atMost(2)
+                .to(GET, "/api/requisitions/{id}").exactly(2)
+                .to(POST, "/api/requisitions/{id}").never()
+                .noDuplicateGets();
+        assertEquals(6, calls.to(GET, "/api/requisitions/{id}").getResponseBytes());
+        assertThrows(AssertionError.class, () -> calls.atMost(1));
+        assertThrows(AssertionError.class, () -> calls.to(GET, "/api/requisitions/{id}").atMost(1));
+        assertThrows(AssertionError.class, () -> calls.to(GET, "/api/requisitions/{id}").responseBytesAtMost(5));
+    }
+
+    @Test
+    void findsDuplicateGets() throws IOException {
+        mockBackend.expect(ExpectedCount.manyTimes(), requestTo("/api/users?email=jdoe"))
+                .andRespond(withSuccess("user", TEXT_PLAIN));
+
+        get("/api/users?email=jdoe");
+        get("/api/users?email=jdoe");
+
+        AssertionError error = assertThrows(AssertionError.class, () -> mockBackend.calls().noDuplicateGets());
+        assertEquals("Expected no duplicate GETs but got {GET /api/users?email=jdoe=2}", error.getMessage());
+    }
+
+    @Test
+    void resetForgetsCalls() throws IOException {
+        mockBackend.expect(requestTo("/api/approvals"))
+                .andRespond(withSuccess("approvals", TEXT_PLAIN));
+        get("/api/approvals");
+
+        mockBackend.reset();
+
+        assertEquals(0, mockBackend.calls().getCalls().size());
+    }
+
+    private int get(String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(mockBackend.url(path)).build()).execute()) {
+            return response.code();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.mock;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StubBackendTest {
+
+    private final OkHttpClient client = new OkHttpClient();
+
+    @Test
+    void servesScriptedResponse() throws IOException {
+        String url;
+        try (StubBackend backend = StubBackend.start()
+                .route(HttpMethod.GET, "/api/requisitions/{id}",
+                        request -> StubResponse.json("{\"id\":\"" + request.getPathVariable("id") + "\"}"))) {
+            url = backend.url("/api/requisitions/42");
+
+            try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+                assertEquals(200, response.code());
+                assertEquals("{\"id\":\"42\"}", response.body().string());
+            }
+            try (Response response = client.newCall(new Request.Builder().url(backend.url("/api/other")).build()).execute()) {
+                assertEquals(404, response.code());
+            }
+
+            assertEquals(1, backend.getRequestCount(HttpMethod.GET, "/api/requisitions/{id}"));
+            assertEquals(2, backend.getRequestCount());
+            assertEquals(List.of("GET /api/other"), backend.getUnmatchedRequests());
+        }
+
+        // Stopped with the try block
+        assertThrows(IOException.class, () -> client.newCall(new Request.Builder().url(url).build()).execute().close());
+    }
+
+    @Test
+    void servesConcurrentRequestsWithLatency() throws Exception {
+        int requests = 50;
+        Duration latency = Duration.ofMillis(200);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try (StubBackend backend = StubBackend.start()
+                .route(HttpMethod.GET, "/api/requisitions/{id}",
+                        request -> StubResponse.json("{\"id\":\"" + request.getPathVariable("id") + "\"}"))
+                .setLatencyProfile(LatencyProfile.fixed(latency))) {
+            List<Callable<String>> calls = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String path = "/api/requisitions/" + i;
+                calls.add(() -> {
+                    try (Response response = client.newCall(new Request.Builder().url(backend.url(path)).build()).execute()) {
+                        return response.code() + " " + response.body().string();
+                    }
+                });
+            }
+
+            long start = System.nanoTime();
+            List<Future<String>> responses = executor.invokeAll(calls);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            for (int i = 0; i < requests; i++) {
+                assertEquals("200 {\"id\":\"" + i + "\"}", responses.get(i).get());
+            }
+            assertEquals(requests, backend.getRequestCount(HttpMethod.GET, "/api/requisitions/{id}"));
+            assertEquals(requests, backend.getRequestCount());
+            // Served in sequence, they would take requests * latency
+            assertTrue(elapsed.compareTo(latency.multipliedBy(requests / 5)) < 0, "took " + elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import java.time.Duration;
+
+/**
+ * Creates the connector's caches: identity lookups, backend responses and cards. The default is
+ * {@link LocalCacheProvider}; with a {@link CacheStore} the caches are shared by all replicas
+ * through {@link SharedCacheProvider}.
+ */
+public interface CacheProvider {
+
+    /**
+     * Get the cache with the name, creating it on first use.
+     *
+     * @param name the cache's name, unique within the connector
+     * @param type the type of the values
+     * @param ttl how long values are kept after being put
+     * @param maxSize the most values kept in-process; shared stores evict by their own policy
+     * @param <V> the type of the values
+     * @return the cache
+     * @throws IllegalArgumentException if the cache already exists with another type, ttl or max size
+     */
+    <V> ConnectorCache<V> getCache(String name, Class<V> type, Duration ttl, long maxSize);
+}
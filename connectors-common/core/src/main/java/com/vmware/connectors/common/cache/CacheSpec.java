@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * What a cache was first asked for by name, so that asking again for something else fails instead of
+ * quietly getting the first cache.
+ */
+final class CacheSpec {
+
+    private final Class<?> type;
+    private final Duration ttl;
+    private final long maxSize;
+
+    CacheSpec(Class<?> type, Duration ttl, long maxSize) {
+        this.type = type;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+    }
+
+    void checkSame(String name, CacheSpec requested) {
+        if (!equals(requested)) {
+            throw new IllegalArgumentException("Cache " + name + " already exists as " + this + ", not " + requested);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheSpec)) {
+            return false;
+        }
+        CacheSpec other = (CacheSpec) o;
+        return type.equals(other.type) && ttl.equals(other.ttl) && maxSize == other.maxSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, ttl, maxSize);
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + " with ttl " + ttl + " and max size " + maxSize;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * An external key-value store shared by all replicas, e.g. Redis or Memcached. Implement it with the
+ * store's reactive client and declare it as a bean to share the connector's caches through
+ * {@link SharedCacheProvider}. Values are already serialized; keys are already namespaced.
+ */
+public interface CacheStore {
+
+    /**
+     * @param key the key
+     * @return the value, or empty if there is none
+     */
+    Mono<byte[]> get(String key);
+
+    /**
+     * @param key the key
+     * @param value the value
+     * @param ttl when the store should drop the value
+     * @return completes once the value is stored
+     */
+    Mono<Void> set(String key, byte[] value, Duration ttl);
+
+    /**
+     * @param key the key
+     * @return completes once the value is deleted
+     */
+    Mono<Void> delete(String key);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A named cache from a {@link CacheProvider}, either in-process or shared by all replicas of the
+ * connector. Operations are reactive because a shared cache is a network call away.
+ *
+ * @param <V> the type of the values
+ */
+public interface ConnectorCache<V> {
+
+    /**
+     * @param key the key
+     * @return the value, or empty if it is not cached
+     */
+    Mono<V> get(String key);
+
+    /**
+     * @param key the key
+     * @param value the value
+     * @return completes once the value is cached
+     */
+    Mono<Void> put(String key, V value);
+
+    /**
+     * @param key the key
+     * @return completes once the value is no longer cached
+     */
+    Mono<Void> invalidate(String key);
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link CacheStore} in the JVM's memory, for tests and local runs without an external store.
+ * Sharing one instance between several SharedCacheProviders behaves like replicas sharing a store,
+ * including serialization. Expired values are dropped when read.
+ */
+public class InMemoryCacheStore implements CacheStore {
+
+    private final Map<String, Stored> values = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public InMemoryCacheStore() {
+        this(System::nanoTime);
+    }
+
+    InMemoryCacheStore(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<byte[]> get(String key) {
+        return Mono.fromSupplier(() -> {
+            Stored stored = values.get(key);
+            if (stored == null) {
+                return null;
+            }
+            if (nanoClock.getAsLong() - stored.expiresAt >= 0) {
+                values.remove(key, stored);
+                return null;
+            }
+            return stored.value.clone();
+        });
+    }
+
+    @Override
+    public Mono<Void> set(String key, byte[] value, Duration ttl) {
+        return Mono.fromRunnable(() -> values.put(key, new Stored(value.clone(), nanoClock.getAsLong() + ttl.toNanos())));
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromRunnable(() -> values.remove(key));
+    }
+
+    /**
+     * @return the number of values, including expired ones not read since
+     */
+    public int size() {
+        return values.size();
+    }
+
+    private static final class Stored {
+        private final byte[] value;
+        private final long expiresAt;
+
+        Stored(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process caches, holding the values themselves. Each replica has its own.
+ */
+public class LocalCacheProvider implements CacheProvider {
+
+    private final Map<String, LocalCache<?>> caches = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> ConnectorCache<V> getCache(String name, Class<V> type, Duration ttl, long maxSize) {
+        CacheSpec spec = new CacheSpec(type, ttl, maxSize);
+        LocalCache<?> cache = caches.computeIfAbsent(name, key -> new LocalCache<V>(spec, ttl, maxSize));
+        cache.spec.checkSame(name, spec);
+        return (ConnectorCache<V>) cache;
+    }
+
+    private static final class LocalCache<V> implements ConnectorCache<V> {
+
+        private final CacheSpec spec;
+        private final Cache<String, V> cache;
+
+        LocalCache(CacheSpec spec, Duration ttl, long maxSize) {
+            this.spec = spec;
+            this.cache = CacheBuilder.newBuilder()
+                    .expireAfterWrite(ttl)
+                    .maximumSize(maxSize)
+                    .build();
+        }
+
+        @Override
+        public Mono<V> get(String key) {
+            return Mono.fromSupplier(() -> cache.getIfPresent(key));
+        }
+
+        @Override
+        public Mono<Void> put(String key, V value) {
+            return Mono.fromRunnable(() -> cache.put(key, value));
+        }
+
+        @Override
+        public Mono<Void> invalidate(String key) {
+            return Mono.fromRunnable(() -> cache.invalidate(key));
+        }
+    }
+}
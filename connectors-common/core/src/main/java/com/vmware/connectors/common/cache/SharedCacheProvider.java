@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches kept in a {@link CacheStore} shared by all replicas, so that a value cached by one replica
+ * is a hit on the others. Values are serialized with the given ObjectMapper, which should have a
+ * compact binary factory such as Smile. Keys are prefixed with the connector's and the cache's names.
+ * <p>
+ * A value that no longer deserializes, e.g. one written by an older version of the connector during
+ * a rolling deploy, is a miss.
+ */
+public class SharedCacheProvider implements CacheProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedCacheProvider.class);
+
+    private final CacheStore store;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final Map<String, SharedCache<?>> caches = new ConcurrentHashMap<>();
+
+    public SharedCacheProvider(CacheStore store, ObjectMapper objectMapper, String keyPrefix) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> ConnectorCache<V> getCache(String name, Class<V> type, Duration ttl, long maxSize) {
+        CacheSpec spec = new CacheSpec(type, ttl, maxSize);
+        SharedCache<?> cache = caches.computeIfAbsent(name, key -> new SharedCache<>(spec, keyPrefix + name + ":", type, ttl));
+        cache.spec.checkSame(name, spec);
+        return (ConnectorCache<V>) cache;
+    }
+
+    private final class SharedCache<V> implements ConnectorCache<V> {
+
+        private final CacheSpec spec;
+        private final String prefix;
+        private final ObjectReader reader;
+        private final ObjectWriter writer;
+        private final Duration ttl;
+
+        SharedCache(CacheSpec spec, String prefix, Class<V> type, Duration ttl) {
+            this.spec = spec;
+            this.prefix = prefix;
+            this.reader = objectMapper.readerFor(type);
+            this.writer = objectMapper.writerFor(type);
+            this.ttl = ttl;
+        }
+
+        @Override
+        public Mono<V> get(String key) {
+            return store.get(prefix + key)
+                    .flatMap(bytes -> {
+                        try {
+                            return Mono.just(reader.readValue(bytes));
+                        } catch (IOException e) {
+                            logger.debug("Ignoring cached value for {}{} that does not deserialize", prefix, key, e);
+                            return Mono.empty();
+                        }
+                    });
+        }
+
+        @Override
+        public Mono<Void> put(String key, V value) {
+            return Mono.fromCallable(() -> writer.writeValueAsBytes(value))
+                    .flatMap(bytes -> store.set(prefix + key, bytes, ttl));
+        }
+
+        @Override
+        public Mono<Void> invalidate(String key) {
+            return store.delete(prefix + key);
+        }
+    }
+}
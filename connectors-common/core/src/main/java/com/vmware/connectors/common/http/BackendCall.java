@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Logical names for outbound backend calls.
+ * <p>
+ * Name a call by adding its attribute to the WebClient request:
+ * <pre>
+ *     rest.get()
+ *             .uri(baseUrl + "/api/requisitions?id={id}", id)
+ *             .attributes(BackendCall.named("requisitionDetail"))
+ *             ...
+ * </pre>
+ * Unnamed calls are identified by their method and path instead, using the path of the
+ * URI template when the call was made with one so that ids do not end up in the name.
+ */
+public final class BackendCall {
+
+    public static final String NAME_ATTRIBUTE = BackendCall.class.getName() + ".name";
+
+    // Set by WebClient when the URI is given as a template
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private BackendCall() {
+        // Do not construct
+    }
+
+    public static Consumer<Map<String, Object>> named(String name) {
+        return attributes -> attributes.put(NAME_ATTRIBUTE, name);
+    }
+
+    public static String nameOf(ClientRequest request) {
+        return request.attribute(NAME_ATTRIBUTE)
+                .map(Object::toString)
+                .orElseGet(() -> request.method().name() + " " + path(request));
+    }
+
+    private static String path(ClientRequest request) {
+        return request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                .map(template -> templatePath(template.toString()))
+                .orElseGet(() -> request.url().getRawPath());
+    }
+
+    static String templatePath(String template) {
+        String path = template;
+        int scheme = template.indexOf("://");
+        if (scheme >= 0) {
+            int pathStart = template.indexOf('/', scheme + 3);
+            path = pathStart < 0 ? "/" : template.substring(pathStart);
+        }
+        return StringUtils.substringBefore(path, "?");
+    }
+}
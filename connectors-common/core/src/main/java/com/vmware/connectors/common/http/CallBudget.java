@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * How many calls to each logical backend endpoint (see {@link BackendCall}) a single inbound request
+ * is expected to make. Calls beyond that usually mean one call per item, so the load on the backend
+ * grows with the size of the user's inbox.
+ * <p>
+ * Connectors declare their budget as a bean:
+ * <pre>
+ *     &#64;Bean
+ *     public CallBudget callBudget() {
+ *         return new CallBudget(5)
+ *                 .withLimit("requisitionDetails", 1);
+ *     }
+ * </pre>
+ */
+public class CallBudget {
+
+    private final int defaultLimit;
+    private final Map<String, Integer> limits;
+
+    /**
+     * @param defaultLimit the limit for endpoints without their own, or 0 for no limit
+     */
+    public CallBudget(int defaultLimit) {
+        this(defaultLimit, Map.of());
+    }
+
+    private CallBudget(int defaultLimit, Map<String, Integer> limits) {
+        this.defaultLimit = defaultLimit;
+        this.limits = limits;
+    }
+
+    public CallBudget withLimit(String endpoint, int limit) {
+        Map<String, Integer> newLimits = new HashMap<>(limits);
+        newLimits.put(endpoint, limit);
+        return new CallBudget(defaultLimit, Map.copyOf(newLimits));
+    }
+
+    public OptionalInt limitFor(String endpoint) {
+        int limit = limits.getOrDefault(endpoint, defaultLimit);
+        return limit > 0 ? OptionalInt.of(limit) : OptionalInt.empty();
+    }
+}
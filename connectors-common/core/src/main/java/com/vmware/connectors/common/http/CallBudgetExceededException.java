@@ -0,0 +1,19 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+/**
+ * Raised instead of making an outbound call that would exceed the {@link CallBudget},
+ * when the budget is enforced (typically in tests).
+ */
+public class CallBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CallBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.OptionalInt;
+
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.BACKEND_BUDGET_EXCEEDED;
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.ENDPOINT_TAG;
+
+/**
+ * Counts the outbound calls made for each inbound request and checks them against the {@link CallBudget}.
+ * The first call over an endpoint's limit in a request is logged and counted in a metric; with
+ * {@link Action#FAIL}, every call over the limit fails with {@link CallBudgetExceededException} instead.
+ * <p>
+ * Hedged duplicates are not counted, as this filter sits outside the hedging filter.
+ */
+public class CallBudgetExchangeFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallBudgetExchangeFilter.class);
+
+    public enum Action {
+        WARN, FAIL
+    }
+
+    private final CallBudget budget;
+    private final Action action;
+    private final MeterRegistry registry;
+
+    public CallBudgetExchangeFilter(CallBudget budget, Action action, MeterRegistry registry) {
+        this.budget = budget;
+        this.action = action;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = BackendCall.nameOf(request);
+        return Mono.subscriberContext()
+                .flatMap(context -> {
+                    OptionalInt limit = budget.limitFor(endpoint);
+                    if (limit.isEmpty()) {
+                        return next.exchange(request);
+                    }
+                    int count = CallCounts.from(context).map(counts -> counts.increment(endpoint)).orElse(0);
+                    if (count <= limit.getAsInt()) {
+                        return next.exchange(request);
+                    }
+                    return overBudget(request, endpoint, count, limit.getAsInt(), next);
+                });
+    }
+
+    private Mono<ClientResponse> overBudget(ClientRequest request, String endpoint, int count, int limit, ExchangeFunction next) {
+        if (count == limit + 1) {
+            logger.warn("Call budget exceeded: more than {} calls to {} for one request", limit, endpoint);
+            registry.counter(BACKEND_BUDGET_EXCEEDED, ENDPOINT_TAG, endpoint).increment();
+        }
+        if (action == Action.FAIL) {
+            return Mono.error(new CallBudgetExceededException(
+                    "Call " + count + " to " + endpoint + " exceeds the budget of " + limit + " per request"));
+        }
+        return next.exchange(request);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the outbound calls made for one inbound request, by logical endpoint.
+ * Kept in the attributes of the inbound exchange, which {@link com.vmware.connectors.common.web.ExchangeContextWebFilter}
+ * puts in the subscriber context.
+ */
+public class CallCounts {
+
+    public static final String ATTRIBUTE = CallCounts.class.getName();
+
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    public static Optional<CallCounts> from(Context context) {
+        return context.<ServerWebExchange>getOrEmpty(ServerWebExchange.class)
+                .map(exchange -> (CallCounts) exchange.getAttributes().computeIfAbsent(ATTRIBUTE, key -> new CallCounts()));
+    }
+
+    public int increment(String endpoint) {
+        return counts.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public Map<String, Integer> snapshot() {
+        return counts.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+    }
+}
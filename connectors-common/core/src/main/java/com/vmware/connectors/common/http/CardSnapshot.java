@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.payloads.response.Cards;
+
+import java.time.Duration;
+
+/**
+ * A user's precomputed {@link Cards}, with their hashes, and how long ago they were computed.
+ */
+public final class CardSnapshot {
+
+    private final Cards cards;
+    private final Duration age;
+
+    public CardSnapshot(Cards cards, Duration age) {
+        this.cards = cards;
+        this.age = age;
+    }
+
+    public Cards getCards() {
+        return cards;
+    }
+
+    public Duration getAge() {
+        return age;
+    }
+}
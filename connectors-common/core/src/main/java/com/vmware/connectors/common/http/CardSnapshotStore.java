@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Keeps the {@link PrecomputedCards} of an instance across restarts, so that a new instance starts
+ * warm instead of sending every user's first poll to the backends at once.
+ */
+public interface CardSnapshotStore {
+
+    /**
+     * Replace the stored snapshots.
+     *
+     * @param snapshots the snapshots by PrecomputedCards key
+     * @throws IOException if they could not be stored
+     */
+    void save(Map<String, CardSnapshot> snapshots) throws IOException;
+
+    /**
+     * Read the stored snapshots, with their ages as of now.
+     *
+     * @return the snapshots by PrecomputedCards key, empty if none were stored
+     * @throws IOException if they could not be read
+     */
+    Map<String, CardSnapshot> load() throws IOException;
+}
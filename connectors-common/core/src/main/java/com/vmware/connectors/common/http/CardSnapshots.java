@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Restores {@link PrecomputedCards} from a {@link CardSnapshotStore} at startup, then saves them
+ * every interval and once more at shutdown.
+ */
+public class CardSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardSnapshots.class);
+
+    private final PrecomputedCards precomputedCards;
+    private final CardSnapshotStore store;
+    private final Duration interval;
+
+    private Disposable saving;
+
+    public CardSnapshots(PrecomputedCards precomputedCards, CardSnapshotStore store, Duration interval) {
+        this.precomputedCards = precomputedCards;
+        this.store = store;
+        this.interval = interval;
+    }
+
+    public void start() {
+        try {
+            int restored = precomputedCards.restore(store.load());
+            logger.info("Restored precomputed cards for {} keys", restored);
+        } catch (IOException | RuntimeException e) {
+            // Start cold rather than not at all
+            logger.warn("Failed to restore precomputed cards", e);
+        }
+        saving = Flux.interval(interval, interval, Schedulers.boundedElastic())
+                .subscribe(tick -> save());
+    }
+
+    public void stop() {
+        if (saving != null) {
+            saving.dispose();
+        }
+        save();
+    }
+
+    void save() {
+        try {
+            store.save(precomputedCards.snapshot());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to save precomputed cards", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * A consecutive-failure circuit breaker for a single backend.
+ * <p>
+ * While CLOSED, every call is allowed. After {@code failureThreshold} consecutive failures the
+ * breaker trips OPEN and rejects calls until {@code openDuration} has elapsed. It then moves to
+ * HALF_OPEN and lets a single probe call through: a success closes the breaker again, a failure
+ * re-opens it for another {@code openDuration}.
+ * <p>
+ * Callers that were allowed through by {@link #tryAcquire()} must report the outcome on their
+ * {@link Permit} with exactly one of {@link Permit#onSuccess()}, {@link Permit#onFailure()} or
+ * {@link Permit#onCancel()}. Outcomes of calls allowed before the last change of state are ignored:
+ * a slow call from before the breaker opened cannot close it again, late failures do not keep it
+ * open for longer, and while HALF_OPEN only the probe decides.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final Object lock = new Object();
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    // Incremented on every change of state, so outcomes of permits from before it can be told apart
+    private long generation;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Ask whether a call may go to the backend now.
+     *
+     * @return the permit to report the call's outcome on, or null if the breaker is open and the call
+     * should fail fast
+     */
+    public Permit tryAcquire() {
+        synchronized (lock) {
+            switch (state) {
+                case CLOSED:
+                    return new Permit(generation, false);
+                case OPEN:
+                    if (nanoClock.getAsLong() - openedAt < openNanos) {
+                        return null;
+                    }
+                    moveTo(State.HALF_OPEN);
+                    probeInFlight = true;
+                    return new Permit(generation, true);
+                default:
+                    if (probeInFlight) {
+                        return null;
+                    }
+                    probeInFlight = true;
+                    return new Permit(generation, true);
+            }
+        }
+    }
+
+    private void onSuccess(Permit permit) {
+        synchronized (lock) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                moveTo(State.CLOSED);
+            }
+            consecutiveFailures = 0;
+        }
+    }
+
+    private void onFailure(Permit permit) {
+        synchronized (lock) {
+            if (permit.generation != generation) {
+                return;
+            }
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                moveTo(State.OPEN);
+                openedAt = nanoClock.getAsLong();
+            }
+        }
+    }
+
+    private void onCancel(Permit permit) {
+        synchronized (lock) {
+            if (permit.generation == generation && permit.probe) {
+                probeInFlight = false;
+            }
+        }
+    }
+
+    private void moveTo(State next) {
+        state = next;
+        generation++;
+        probeInFlight = false;
+        if (next == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    public State getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    /**
+     * @return how long until the breaker will allow a probe, or zero if it is not open
+     */
+    public Duration getRetryAfter() {
+        synchronized (lock) {
+            if (state != State.OPEN) {
+                return Duration.ZERO;
+            }
+            long remaining = openNanos - (nanoClock.getAsLong() - openedAt);
+            return Duration.ofNanos(Math.max(0, remaining));
+        }
+    }
+
+    /**
+     * A call allowed through by {@link #tryAcquire()}, for reporting its outcome once.
+     */
+    public final class Permit {
+
+        private final long generation;
+        private final boolean probe;
+
+        private Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        public void onSuccess() {
+            CircuitBreaker.this.onSuccess(this);
+        }
+
+        public void onFailure() {
+            CircuitBreaker.this.onFailure(this);
+        }
+
+        /**
+         * The call was abandoned before it completed, so it tells us nothing about the backend.
+         * Frees the half-open probe slot so the next caller can probe instead.
+         */
+        public void onCancel() {
+            CircuitBreaker.this.onCancel(this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fails outbound calls fast while their tenant's backend is known to be down.
+ * <p>
+ * Connection errors, timeouts and 5xx responses count as failures. Any other response,
+ * including 4xx, shows that the backend is alive and counts as a success.
+ */
+public class CircuitBreakerExchangeFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerExchangeFilter.class);
+
+    private final CircuitBreakerRegistry registry;
+
+    public CircuitBreakerExchangeFilter(CircuitBreakerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.subscriberContext()
+                .flatMap(context -> {
+                    String tenant = TenantKey.of(context, request);
+                    CircuitBreaker breaker = registry.get(tenant);
+                    CircuitBreaker.Permit permit = breaker.tryAcquire();
+                    if (permit == null) {
+                        logger.debug("Circuit breaker open for {}, not calling {} {}", tenant, request.method(), request.url());
+                        return Mono.error(new CircuitBreakerOpenException(tenant, breaker.getRetryAfter()));
+                    }
+                    return next.exchange(request)
+                            .doOnNext(response -> record(breaker, permit, tenant, response))
+                            .doOnError(throwable -> permit.onFailure())
+                            .doOnCancel(permit::onCancel);
+                });
+    }
+
+    private static void record(CircuitBreaker breaker, CircuitBreaker.Permit permit, String tenant, ClientResponse response) {
+        if (response.rawStatusCode() >= 500) {
+            permit.onFailure();
+            if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                logger.warn("Circuit breaker open for {} after status {}", tenant, response.rawStatusCode());
+            }
+        } else {
+            permit.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import java.time.Duration;
+
+/**
+ * Raised instead of calling a backend whose circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String tenant;
+    private final Duration retryAfter;
+
+    public CircuitBreakerOpenException(String tenant, Duration retryAfter) {
+        super("Circuit breaker is open for " + tenant);
+        this.tenant = tenant;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
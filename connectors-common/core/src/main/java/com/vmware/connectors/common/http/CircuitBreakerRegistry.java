@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds one {@link CircuitBreaker} per tenant backend, created on first use.
+ */
+public class CircuitBreakerRegistry {
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final LongSupplier nanoClock;
+
+    public CircuitBreakerRegistry(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreakerRegistry(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.nanoClock = nanoClock;
+    }
+
+    public CircuitBreaker get(String tenant) {
+        return breakers.computeIfAbsent(tenant, key -> new CircuitBreaker(failureThreshold, openDuration, nanoClock));
+    }
+
+    /**
+     * @param tenant the tenant's base URL
+     * @return true if calls to the tenant's backend are currently being rejected
+     */
+    public boolean isOpen(String tenant) {
+        CircuitBreaker breaker = breakers.get(tenant);
+        return breaker != null && breaker.getState() == CircuitBreaker.State.OPEN;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps connections open to the backends the connector has called recently, so that a poll after a
+ * quiet spell or a restart does not pay for DNS resolution, TCP connect and TLS handshake.
+ * <p>
+ * Backends are recorded by origin (scheme and authority) by {@link PrewarmExchangeFilter}, and
+ * forgotten once they have not been called for recent-for. Every interval, and at startup, each one
+ * gets a HEAD / through the given WebClient, which must share the connection pool of the connector's
+ * WebClient but not its filters. The status of the response does not matter; the connection it
+ * leaves in the pool does. The interval should be shorter than the backends' keep-alive timeouts.
+ * <p>
+ * With a file, the backends are remembered across restarts, so the new instance warms up before
+ * its first poll.
+ */
+public class ConnectionPrewarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPrewarmer.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WebClient client;
+    private final Cache<String, Boolean> recent;
+    private final Duration interval;
+    private final Path file;
+
+    private Disposable warming;
+
+    public ConnectionPrewarmer(WebClient client, Duration recentFor, long maxBackends, Duration interval, Path file) {
+        this(client, recentFor, maxBackends, interval, file, System::nanoTime);
+    }
+
+    ConnectionPrewarmer(WebClient client, Duration recentFor, long maxBackends, Duration interval, Path file, LongSupplier nanoClock) {
+        this.client = client;
+        this.recent = CacheBuilder.newBuilder()
+                .expireAfterWrite(recentFor)
+                .maximumSize(maxBackends)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanoClock.getAsLong();
+                    }
+                })
+                .build();
+        this.interval = interval;
+        this.file = file;
+    }
+
+    /**
+     * Record a call to a backend.
+     *
+     * @param url the URL called
+     */
+    public void called(URI url) {
+        recent.put(TenantKey.origin(url), Boolean.TRUE);
+    }
+
+    /**
+     * Record backends to warm up even before they are called, e.g. from configuration.
+     *
+     * @param baseUrls the backends' base URLs
+     */
+    public void add(Collection<String> baseUrls) {
+        baseUrls.stream()
+                .filter(StringUtils::isNotBlank)
+                .forEach(baseUrl -> called(URI.create(baseUrl.trim())));
+    }
+
+    /**
+     * @return the origins of the recently called backends
+     */
+    public List<String> backends() {
+        return new ArrayList<>(recent.asMap().keySet());
+    }
+
+    /**
+     * Open a connection to each recently called backend, unless the pool has one already.
+     *
+     * @return completes once every backend has answered or failed
+     */
+    public Mono<Void> prewarm() {
+        return Flux.fromIterable(backends())
+                .flatMap(this::prewarm)
+                .then();
+    }
+
+    private Mono<Void> prewarm(String origin) {
+        return client.head()
+                .uri(origin + "/")
+                .exchange()
+                .flatMap(response -> response.releaseBody())
+                .timeout(REQUEST_TIMEOUT)
+                .onErrorResume(throwable -> {
+                    logger.debug("Failed to prewarm a connection to {}", origin, throwable);
+                    return Mono.empty();
+                });
+    }
+
+    public void start() {
+        if (file != null) {
+            try {
+                add(Files.readAllLines(file, StandardCharsets.UTF_8));
+            } catch (NoSuchFileException e) {
+                logger.debug("No backends to prewarm in {} yet", file);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Failed to read backends to prewarm from {}", file, e);
+            }
+        }
+        warming = Flux.interval(Duration.ZERO, interval, Schedulers.boundedElastic())
+                .concatMap(tick -> prewarm())
+                .subscribe();
+    }
+
+    public void stop() {
+        if (warming != null) {
+            warming.dispose();
+        }
+        if (file != null) {
+            try {
+                Files.write(file, backends(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.warn("Failed to save backends to prewarm to {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The point in time by which the connector must have answered the inbound request.
+ * <p>
+ * It travels in the Reactor subscriber context, under the Deadline class, so every
+ * outbound call and reduce step made on behalf of the request can see it.
+ */
+public final class Deadline {
+
+    // Far enough for any request, and well short of overflowing System.nanoTime
+    private static final Duration MAX_DURATION = Duration.ofDays(1);
+
+    private final long nanos;
+
+    private Deadline(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public static Deadline after(Duration duration) {
+        return new Deadline(System.nanoTime() + (duration.compareTo(MAX_DURATION) < 0 ? duration : MAX_DURATION).toNanos());
+    }
+
+    public static Optional<Deadline> from(Context context) {
+        return context.getOrEmpty(Deadline.class);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, nanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return nanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline in " + remaining().toMillis() + "ms";
+    }
+}
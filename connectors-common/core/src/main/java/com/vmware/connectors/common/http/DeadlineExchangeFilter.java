@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stops outbound calls from outliving the inbound request's {@link Deadline}: calls are not started
+ * once it has passed, and calls in flight are abandoned when it arrives. Either way the call fails with
+ * {@link DeadlineExceededException}, which {@code Reactive.collectCards} and {@code CardStreams.stream}
+ * treat as the deadline having arrived rather than as an error.
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.subscriberContext()
+                .flatMap(context -> Deadline.from(context)
+                        .map(deadline -> withDeadline(request, next, deadline))
+                        .orElseGet(() -> next.exchange(request)));
+    }
+
+    private static Mono<ClientResponse> withDeadline(ClientRequest request, ExchangeFunction next, Deadline deadline) {
+        if (deadline.isExpired()) {
+            return Mono.error(exceeded(request));
+        }
+        return next.exchange(request)
+                .timeout(deadline.remaining(), Mono.defer(() -> Mono.error(exceeded(request))));
+    }
+
+    private static DeadlineExceededException exceeded(ClientRequest request) {
+        return new DeadlineExceededException("Deadline passed before " + request.method() + " " + request.url() + " answered");
+    }
+}
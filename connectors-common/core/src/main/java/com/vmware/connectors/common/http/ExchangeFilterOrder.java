@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+/**
+ * Order of the ExchangeFilterFunctions applied to the shared WebClient. Lower values wrap higher ones,
+ * so the filter with the highest value is closest to the network.
+ */
+public final class ExchangeFilterOrder {
+
+    public static final int DEADLINE = 100;
+    public static final int TRACING = 150;
+    public static final int SERVER_TIMING = 200;
+    public static final int CALL_BUDGET = 250;
+    public static final int METRICS = 300;
+    public static final int JFR = 350;
+    public static final int CIRCUIT_BREAKER = 400;
+    public static final int PREWARM = 450;
+    public static final int HEDGING = 500;
+
+    private ExchangeFilterOrder() {
+        // Do not construct
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.payloads.response.Cards;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the snapshots in one gzipped JSON file on local disk:
+ * <pre>
+ *     {"saved_at": 1617184800000, "snapshots": [{"key": "...", "age_millis": 1200, "cards": {...}}, ...]}
+ * </pre>
+ * The file is written next to its final location and moved into place, so a crash while saving
+ * leaves the previous snapshot intact. It is only ever read or written whole, at startup and every
+ * snapshot interval, and streamed both ways so the cards are never held as text. The file is
+ * readable and writable by its owner only.
+ */
+public class FileCardSnapshotStore implements CardSnapshotStore {
+
+    private static final String SAVED_AT = "saved_at";
+    private static final String SNAPSHOTS = "snapshots";
+    private static final String KEY = "key";
+    private static final String AGE_MILLIS = "age_millis";
+    private static final String CARDS = "cards";
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public FileCardSnapshotStore(Path file, ObjectMapper objectMapper) {
+        this(file, objectMapper, Clock.systemUTC());
+    }
+
+    FileCardSnapshotStore(Path file, ObjectMapper objectMapper, Clock clock) {
+        this.file = file.toAbsolutePath();
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(Map<String, CardSnapshot> snapshots) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = createTempFile();
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp));
+                 JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                write(gen, snapshots);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The cards are every polling user's data, so only the connector's own user may read them
+    private Path createTempFile() throws IOException {
+        String prefix = file.getFileName().toString();
+        if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return Files.createTempFile(file.getParent(), prefix, ".tmp", PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        }
+        return Files.createTempFile(file.getParent(), prefix, ".tmp");
+    }
+
+    private void write(JsonGenerator gen, Map<String, CardSnapshot> snapshots) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField(SAVED_AT, clock.millis());
+        gen.writeArrayFieldStart(SNAPSHOTS);
+        for (Map.Entry<String, CardSnapshot> snapshot : snapshots.entrySet()) {
+            gen.writeStartObject();
+            gen.writeStringField(KEY, snapshot.getKey());
+            gen.writeNumberField(AGE_MILLIS, snapshot.getValue().getAge().toMillis());
+            gen.writeFieldName(CARDS);
+            objectMapper.writeValue(gen, snapshot.getValue().getCards());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @Override
+    public Map<String, CardSnapshot> load() throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file));
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return read(parser);
+        } catch (NoSuchFileException e) {
+            return Map.of();
+        }
+    }
+
+    private Map<String, CardSnapshot> read(JsonParser parser) throws IOException {
+        Map<String, CardSnapshot> snapshots = new HashMap<>();
+        long savedAt = clock.millis();
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (SAVED_AT.equals(field)) {
+                savedAt = parser.getLongValue();
+            } else if (SNAPSHOTS.equals(field)) {
+                expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readSnapshot(parser, snapshots);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        // Ages were as of saving; the snapshots have been sitting on disk since
+        Duration sinceSaved = Duration.ofMillis(Math.max(0, clock.millis() - savedAt));
+        Map<String, CardSnapshot> aged = new HashMap<>(snapshots.size());
+        snapshots.forEach((key, snapshot) ->
+                aged.put(key, new CardSnapshot(snapshot.getCards(), snapshot.getAge().plus(sinceSaved))));
+        return aged;
+    }
+
+    private void readSnapshot(JsonParser parser, Map<String, CardSnapshot> snapshots) throws IOException {
+        String key = null;
+        long ageMillis = 0;
+        Cards cards = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (KEY.equals(field)) {
+                key = parser.getText();
+            } else if (AGE_MILLIS.equals(field)) {
+                ageMillis = parser.getLongValue();
+            } else if (CARDS.equals(field)) {
+                cards = objectMapper.readValue(parser, Cards.class);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (key != null && cards != null) {
+            snapshots.put(key, new CardSnapshot(cards, Duration.ofMillis(ageMillis)));
+        }
+    }
+
+    private void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " in " + file
+                    + " at " + parser.getCurrentLocation());
+        }
+    }
+}
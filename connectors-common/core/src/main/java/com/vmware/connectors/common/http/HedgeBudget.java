@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+/**
+ * Caps the extra load caused by hedging. Every eligible request earns {@code ratio} of a token,
+ * every hedge spends a whole one, and at most {@code maxTokens} can be saved up for a burst.
+ * A ratio of 0.1 therefore allows roughly one hedge per ten requests.
+ */
+public class HedgeBudget {
+
+    private final Object lock = new Object();
+
+    private final double ratio;
+    private final double maxTokens;
+
+    private double tokens;
+
+    public HedgeBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+    }
+
+    public void onRequest() {
+        synchronized (lock) {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        }
+    }
+
+    public boolean tryAcquire() {
+        synchronized (lock) {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedges slow GET requests: if a GET has not answered within a percentile of the recent latency of
+ * the same call to the same tenant, a second identical request is sent and whichever answers first wins.
+ * <p>
+ * Only GETs are hedged, as they are expected to be idempotent. A call can opt out by setting
+ * {@link #DISABLE_ATTRIBUTE} to true. Hedges are limited by a {@link HedgeBudget}, and no call is
+ * hedged until enough of its latencies have been recorded to know what slow looks like.
+ */
+public class HedgingExchangeFilter implements ExchangeFilterFunction {
+
+    public static final String DISABLE_ATTRIBUTE = HedgingExchangeFilter.class.getName() + ".disable";
+
+    private static final int SAMPLES_PER_CALL = 256;
+
+    private final Cache<String, LatencyRecorder> recorders = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .build();
+
+    private final double percentile;
+    private final Duration minDelay;
+    private final int minSamples;
+    private final HedgeBudget budget;
+
+    public HedgingExchangeFilter(double percentile, Duration minDelay, int minSamples, HedgeBudget budget) {
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.minSamples = minSamples;
+        this.budget = budget;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!isHedgeable(request)) {
+            return next.exchange(request);
+        }
+        return Mono.subscriberContext()
+                .flatMap(context -> {
+                    LatencyRecorder recorder = recorder(TenantKey.of(context, request) + " " + BackendCall.nameOf(request));
+                    budget.onRequest();
+                    Mono<ClientResponse> primary = timed(next.exchange(request), recorder, true);
+                    return recorder.percentile(percentile)
+                            .map(delay -> race(primary, hedge(next.exchange(request), recorder, delay)))
+                            .orElse(primary);
+                });
+    }
+
+    private static boolean isHedgeable(ClientRequest request) {
+        return request.method() == HttpMethod.GET
+                && !request.attribute(DISABLE_ATTRIBUTE).map(Boolean.TRUE::equals).orElse(false);
+    }
+
+    LatencyRecorder recorder(String key) {
+        return recorders.asMap().computeIfAbsent(key, k -> new LatencyRecorder(SAMPLES_PER_CALL, minSamples));
+    }
+
+    private Mono<ClientResponse> hedge(Mono<ClientResponse> exchange, LatencyRecorder recorder, Duration delay) {
+        return Mono.delay(delay.compareTo(minDelay) < 0 ? minDelay : delay)
+                .flatMap(tick -> budget.tryAcquire() ? timed(exchange, recorder, false) : Mono.<ClientResponse>never())
+                // The primary request is still outstanding, so a failed hedge must not fail the call.
+                .onErrorResume(throwable -> Mono.never());
+    }
+
+    private static Mono<ClientResponse> race(Mono<ClientResponse> primary, Mono<ClientResponse> hedge) {
+        AtomicBoolean answered = new AtomicBoolean();
+        return Mono.first(claim(primary, answered), claim(hedge, answered));
+    }
+
+    private static Mono<ClientResponse> claim(Mono<ClientResponse> leg, AtomicBoolean answered) {
+        // If both legs answer at the same moment, release the loser's connection and keep it quiet.
+        return leg.flatMap(response -> answered.compareAndSet(false, true)
+                ? Mono.just(response)
+                : response.releaseBody().then(Mono.<ClientResponse>never()));
+    }
+
+    /*
+     * A primary that loses to its hedge is recorded with the time it had taken when it was cancelled, a lower
+     * bound of its latency. Leaving it out would drop exactly the slow samples, and the percentile would drift
+     * down and hedge more and more. A losing hedge is left out, as it was cancelled by a faster primary.
+     */
+    private static Mono<ClientResponse> timed(Mono<ClientResponse> exchange, LatencyRecorder recorder, boolean recordCancel) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<ClientResponse> recorded = exchange
+                    .doOnNext(response -> recorder.record(Duration.ofNanos(System.nanoTime() - start)));
+            return recordCancel
+                    ? recorded.doOnCancel(() -> recorder.record(Duration.ofNanos(System.nanoTime() - start)))
+                    : recorded;
+        });
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.cache.ConnectorCache;
+import com.vmware.connectors.common.cache.LocalCacheProvider;
+import com.vmware.connectors.common.payloads.response.Cards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Remembers the last {@link Cards} successfully built for a key, so they can be returned again
+ * while the tenant's circuit breaker is open instead of failing the Hub's poll.
+ * <p>
+ * Intended for use with Mono.transform, keyed by something that identifies the user
+ * on the tenant (e.g., base URL and email):
+ * <pre>
+ *     return getPendingApprovals(...)
+ *             .transform(lastKnownCards.fallback(baseUrl + "|" + userEmail));
+ * </pre>
+ * With a shared {@link ConnectorCache}, cards built by one replica are a fallback on all of them.
+ */
+public class LastKnownCards {
+
+    public static final String CACHE_NAME = "last-known-cards";
+
+    private static final Logger logger = LoggerFactory.getLogger(LastKnownCards.class);
+
+    private final ConnectorCache<Cards> cache;
+
+    public LastKnownCards(Duration maxAge, long maxSize) {
+        this(new LocalCacheProvider().getCache(CACHE_NAME, Cards.class, maxAge, maxSize));
+    }
+
+    public LastKnownCards(ConnectorCache<Cards> cache) {
+        this.cache = cache;
+    }
+
+    public Function<Mono<Cards>, Mono<Cards>> fallback(String key) {
+        return cards -> cards
+                .doOnNext(result -> remember(key, result))
+                .onErrorResume(CircuitBreakerOpenException.class, e -> cache.get(key)
+                        // A shared cache that is unreachable must not hide why the poll failed
+                        .onErrorResume(throwable -> {
+                            logger.warn("Failed to get last known cards for {}", key, throwable);
+                            return Mono.error(e);
+                        })
+                        .switchIfEmpty(Mono.error(e)));
+    }
+
+    private void remember(String key, Cards result) {
+        // The poll does not wait for a shared cache
+        cache.put(key, result)
+                .subscribe(null, throwable -> logger.warn("Failed to cache last known cards for {}", key, throwable));
+    }
+}
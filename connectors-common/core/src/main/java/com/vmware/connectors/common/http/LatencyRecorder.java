@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Keeps the most recent latencies of a backend call so we can ask for a percentile of them.
+ */
+public class LatencyRecorder {
+
+    private final Object lock = new Object();
+
+    private final long[] samples;
+    private final int minSamples;
+
+    private int next;
+    private int count;
+
+    public LatencyRecorder(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    public void record(Duration latency) {
+        synchronized (lock) {
+            samples[next] = latency.toNanos();
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency at the given percentile, or empty if too few calls have been seen to tell
+     */
+    public Optional<Duration> percentile(double percentile) {
+        long[] sorted;
+        synchronized (lock) {
+            if (count < minSamples) {
+                return Optional.empty();
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return Optional.of(Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]));
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.vmware.connectors.common.metrics.ConnectorMetrics;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.web.ServerTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Serves each user's last {@link Cards} straight away on the next poll, and refreshes them in the
+ * background once they are older than fresh-for (stale-while-revalidate). Cards older than
+ * max-staleness are never served; the poll waits for the backend instead, as it would without
+ * precomputation. Users who stop polling are dropped after idle-ttl.
+ * <p>
+ * Intended for use with Mono.transform, keyed by something that identifies the user on the tenant,
+ * and the locale if the cards are localized:
+ * <pre>
+ *     return getPendingApprovals(...)
+ *             .transform(precomputedCards.serve(baseUrl + "|" + userEmail + "|" + locale));
+ * </pre>
+ * The background refresh re-subscribes to the same Mono, without the poll's {@link Deadline}.
+ * Partial results are served but not kept.
+ * <p>
+ * Backends that notify on changes can {@link #invalidate} a user's cards, so that their next poll
+ * goes to the backend; max-staleness can then be raised for everyone else. Results of backend calls
+ * already in flight when a user is invalidated are served but not kept.
+ * <p>
+ * The cards can be {@link #snapshot}ted and {@link #restore}d, so that a restarted instance does not
+ * send every user's first poll to the backends at once (see {@link CardSnapshots}).
+ */
+public class PrecomputedCards {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrecomputedCards.class);
+
+    private static final String RESULT_TAG = "result";
+
+    private final Cache<String, Entry> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    // One token per key whose poll is waiting for the backend; invalidating the key drops it
+    private final Map<String, Object> loading = new ConcurrentHashMap<>();
+    private final long freshNanos;
+    private final long maxStalenessNanos;
+    private final Duration refreshTimeout;
+    private final LongSupplier nanoClock;
+
+    private final Counter fresh;
+    private final Counter stale;
+    private final Counter miss;
+
+    private PrecomputedCards() {
+        this.cache = null;
+        this.freshNanos = 0;
+        this.maxStalenessNanos = 0;
+        this.refreshTimeout = null;
+        this.nanoClock = null;
+        this.fresh = null;
+        this.stale = null;
+        this.miss = null;
+    }
+
+    /**
+     * @return an instance whose serve always goes to the backend, for when precomputation is turned off
+     */
+    public static PrecomputedCards disabled() {
+        return new PrecomputedCards();
+    }
+
+    public PrecomputedCards(
+            Duration freshFor,
+            Duration maxStaleness,
+            Duration idleTtl,
+            long maxSize,
+            MeterRegistry registry
+    ) {
+        this(freshFor, maxStaleness, idleTtl, maxSize, maxStaleness, registry);
+    }
+
+    /**
+     * @param refreshTimeout how long a background refresh may take before it is given up, so that the
+     *                       next stale poll can start another
+     */
+    public PrecomputedCards(
+            Duration freshFor,
+            Duration maxStaleness,
+            Duration idleTtl,
+            long maxSize,
+            Duration refreshTimeout,
+            MeterRegistry registry
+    ) {
+        this(freshFor, maxStaleness, idleTtl, maxSize, refreshTimeout, registry, System::nanoTime);
+    }
+
+    PrecomputedCards(
+            Duration freshFor,
+            Duration maxStaleness,
+            Duration idleTtl,
+            long maxSize,
+            Duration refreshTimeout,
+            MeterRegistry registry,
+            LongSupplier nanoClock
+    ) {
+        if (freshFor.compareTo(maxStaleness) > 0) {
+            throw new IllegalArgumentException("fresh-for (" + freshFor + ") must not exceed max-staleness (" + maxStaleness + ")");
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterAccess(idleTtl)
+                .maximumSize(maxSize)
+                .build();
+        this.freshNanos = freshFor.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.refreshTimeout = refreshTimeout;
+        this.nanoClock = nanoClock;
+        this.fresh = registry.counter(ConnectorMetrics.CARDS_PRECOMPUTED, RESULT_TAG, "fresh");
+        this.stale = registry.counter(ConnectorMetrics.CARDS_PRECOMPUTED, RESULT_TAG, "stale");
+        this.miss = registry.counter(ConnectorMetrics.CARDS_PRECOMPUTED, RESULT_TAG, "miss");
+    }
+
+    public Function<Mono<Cards>, Mono<Cards>> serve(String key) {
+        if (cache == null) {
+            return Function.identity();
+        }
+        return cards -> Mono.subscriberContext()
+                .flatMap(context -> {
+                    Entry entry = cache.getIfPresent(key);
+                    long age = entry == null ? Long.MAX_VALUE : nanoClock.getAsLong() - entry.computedAt;
+                    if (age >= maxStalenessNanos) {
+                        miss.increment();
+                        Object token = new Object();
+                        loading.put(key, token);
+                        return cards.doOnNext(result -> store(key, token, result))
+                                .doFinally(signal -> loading.remove(key, token));
+                    }
+                    if (age >= freshNanos) {
+                        stale.increment();
+                        refresh(key, entry, cards, context);
+                    } else {
+                        fresh.increment();
+                    }
+                    return Mono.just(entry.cards);
+                });
+    }
+
+    /**
+     * Drop the cards of every key with the user as one of its |-separated parts, ignoring case.
+     *
+     * @param user the user, e.g. their email
+     * @return the number of keys dropped
+     */
+    public int invalidate(String user) {
+        if (cache == null) {
+            return 0;
+        }
+        // Polls already waiting for the backend must not cache what they get, since it may predate the change
+        loading.keySet().removeIf(key -> hasPart(key, user));
+        int invalidated = 0;
+        Iterator<String> keys = cache.asMap().keySet().iterator();
+        while (keys.hasNext()) {
+            if (hasPart(keys.next(), user)) {
+                keys.remove();
+                invalidated++;
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * @return the cards of every key, with their ages
+     */
+    public Map<String, CardSnapshot> snapshot() {
+        if (cache == null) {
+            return Map.of();
+        }
+        long now = nanoClock.getAsLong();
+        Map<String, CardSnapshot> snapshots = new HashMap<>();
+        cache.asMap().forEach((key, entry) ->
+                snapshots.put(key, new CardSnapshot(entry.cards, Duration.ofNanos(now - entry.computedAt))));
+        return snapshots;
+    }
+
+    /**
+     * Add snapshots taken by an earlier instance, except those older than max-staleness or for keys
+     * already polled since.
+     *
+     * @param snapshots the snapshots by key
+     * @return the number of snapshots added
+     */
+    public int restore(Map<String, CardSnapshot> snapshots) {
+        if (cache == null) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        int restored = 0;
+        for (Map.Entry<String, CardSnapshot> snapshot : snapshots.entrySet()) {
+            long age = snapshot.getValue().getAge().toNanos();
+            if (age < maxStalenessNanos
+                    && cache.asMap().putIfAbsent(snapshot.getKey(), new Entry(snapshot.getValue().getCards(), now - age)) == null) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private static boolean hasPart(String key, String user) {
+        for (String part : StringUtils.split(key, '|')) {
+            if (part.equalsIgnoreCase(user)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refresh(String key, Entry previous, Mono<Cards> cards, Context context) {
+        if (!refreshing.add(key)) {
+            // Already being refreshed for an earlier poll
+            return;
+        }
+        Context background = context.delete(Deadline.class).delete(ServerTimings.class);
+        cards.timeout(refreshTimeout)
+                .doOnNext(result -> replace(key, previous, result))
+                .doFinally(signal -> refreshing.remove(key))
+                .subscriberContext(ctx -> background)
+                .subscribe(
+                        result -> logger.debug("Refreshed cards in the background for {}", key),
+                        throwable -> logger.warn("Failed to refresh cards in the background for {}", key, throwable)
+                );
+    }
+
+    private void store(String key, Object token, Cards result) {
+        if (result.isPartial()) {
+            return;
+        }
+        Entry entry = new Entry(result, nanoClock.getAsLong());
+        cache.put(key, entry);
+        // Put first and check after, so an invalidation in between cannot be missed
+        if (!loading.remove(key, token)) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    private void replace(String key, Entry previous, Cards result) {
+        // Not if the entry was invalidated while refreshing, since the result may predate the change
+        if (!result.isPartial()) {
+            cache.asMap().replace(key, previous, new Entry(result, nanoClock.getAsLong()));
+        }
+    }
+
+    private static final class Entry {
+        private final Cards cards;
+        private final long computedAt;
+
+        Entry(Cards cards, long computedAt) {
+            this.cards = cards;
+            this.computedAt = computedAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records each backend called through the shared WebClient, for the {@link ConnectionPrewarmer}.
+ */
+public class PrewarmExchangeFilter implements ExchangeFilterFunction {
+
+    private final ConnectionPrewarmer prewarmer;
+
+    public PrewarmExchangeFilter(ConnectionPrewarmer prewarmer) {
+        this.prewarmer = prewarmer;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        prewarmer.called(request.url());
+        return next.exchange(request);
+    }
+}
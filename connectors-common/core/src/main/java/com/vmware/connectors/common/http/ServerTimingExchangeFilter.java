@@ -0,0 +1,26 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.web.ServerTimings;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adds each outbound call made for a timed request to its {@link ServerTimings}, under the call's
+ * logical name (see {@link BackendCall}). Measures until the response headers arrive.
+ */
+public class ServerTimingExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request)
+                .transform(ServerTimings.timed(BackendCall.nameOf(request)));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.Context;
+
+import java.net.URI;
+
+/**
+ * Works out which tenant backend an outbound request belongs to.
+ */
+public final class TenantKey {
+
+    public static final String BASE_URL_HEADER = "X-Connector-Base-Url";
+
+    private TenantKey() {
+        // Do not construct
+    }
+
+    /**
+     * Use the inbound request's X-Connector-Base-Url when the call is made on behalf of one,
+     * otherwise fall back to the scheme and authority of the outbound URL.
+     *
+     * @param context the subscriber context of the outbound call
+     * @param request the outbound request
+     * @return the tenant key
+     */
+    public static String of(Context context, ClientRequest request) {
+        if (context.hasKey(ServerWebExchange.class)) {
+            ServerWebExchange exchange = context.get(ServerWebExchange.class);
+            String baseUrl = exchange.getRequest().getHeaders().getFirst(BASE_URL_HEADER);
+            if (StringUtils.isNotBlank(baseUrl)) {
+                return baseUrl;
+            }
+        }
+        return origin(request.url());
+    }
+
+    public static String origin(URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An outbound backend call made through the shared WebClient, from subscription until the response headers arrive.
+ */
+@Name("com.vmware.connectors.BackendCall")
+@Label("Backend Call")
+@Category(ConnectorEvents.CATEGORY)
+@Description("Outbound backend call, until the response headers arrive")
+public class BackendCallEvent extends jdk.jfr.Event {
+
+    @Label("Connector")
+    String connector;
+
+    @Label("Endpoint")
+    @Description("Logical name of the call, or its method and URI template")
+    String endpoint;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 when there was no response")
+    int status;
+
+    @Label("Response Size")
+    @Description("Content-Length of the response, or -1 when not known")
+    @DataAmount
+    long responseBytes;
+}
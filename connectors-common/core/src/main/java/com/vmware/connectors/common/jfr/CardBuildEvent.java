@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A call to Card.Builder.build, including computing the card's hash. Only recorded when slower than the threshold.
+ */
+@Name("com.vmware.connectors.CardBuild")
+@Label("Card Build")
+@Category(ConnectorEvents.CATEGORY)
+@Description("Card.Builder.build, including computing the card's hash")
+@Threshold("1 ms")
+public class CardBuildEvent extends jdk.jfr.Event {
+
+    @Label("Actions")
+    int actions;
+
+    @Label("Hash Computed")
+    @Description("False when the connector set the hash itself")
+    boolean hashComputed;
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+/**
+ * Java Flight Recorder events emitted by connectors. They are enabled in the default and profile
+ * JFR settings, so they show up in any recording, e.g.
+ * <pre>
+ *     jcmd &lt;pid&gt; JFR.start duration=60s filename=connector.jfr
+ * </pre>
+ * Creating an event is cheap when no recording is running.
+ */
+public final class ConnectorEvents {
+
+    public static final String CATEGORY = "VMware Connectors";
+
+    private ConnectorEvents() {
+        // Do not construct
+    }
+
+    public static CardBuildEvent cardBuild() {
+        CardBuildEvent event = new CardBuildEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commit(CardBuildEvent event, int actions, boolean hashComputed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.actions = actions;
+            event.hashComputed = hashComputed;
+            event.commit();
+        }
+    }
+
+    public static JsonDecodeEvent jsonDecode() {
+        JsonDecodeEvent event = new JsonDecodeEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void commit(JsonDecodeEvent event, long characters) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.characters = characters;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An inbound request to the connector, such as a Hub's card request or a user's action.
+ */
+@Name("com.vmware.connectors.InboundRequest")
+@Label("Inbound Request")
+@Category(ConnectorEvents.CATEGORY)
+@Description("Inbound request handled by the connector")
+public class InboundRequestEvent extends jdk.jfr.Event {
+
+    @Label("Connector")
+    String connector;
+
+    @Label("Kind")
+    @Description("cards, action, attachment or other")
+    String kind;
+
+    @Label("Endpoint")
+    @Description("Method and matched path pattern")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Size")
+    @Description("Content-Length of the request, or -1 when not known")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @Description("Content-Length of the response, or -1 when not known")
+    @DataAmount
+    long responseBytes;
+}
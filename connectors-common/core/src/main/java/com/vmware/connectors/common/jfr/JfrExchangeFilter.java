@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import com.vmware.connectors.common.http.BackendCall;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Emits a {@link BackendCallEvent} for every outbound backend call.
+ */
+public class JfrExchangeFilter implements ExchangeFilterFunction {
+
+    private final String connector;
+
+    public JfrExchangeFilter(String connector) {
+        this.connector = connector;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            BackendCallEvent event = new BackendCallEvent();
+            if (!event.isEnabled()) {
+                return next.exchange(request);
+            }
+            event.begin();
+            return next.exchange(request)
+                    .doOnNext(response -> commit(event, request, response.rawStatusCode(),
+                            response.headers().contentLength().orElse(-1)))
+                    .doOnError(throwable -> commit(event, request, 0, -1));
+        });
+    }
+
+    private void commit(BackendCallEvent event, ClientRequest request, int status, long responseBytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.connector = connector;
+            event.endpoint = BackendCall.nameOf(request);
+            event.status = status;
+            event.responseBytes = responseBytes;
+            event.commit();
+        }
+    }
+}
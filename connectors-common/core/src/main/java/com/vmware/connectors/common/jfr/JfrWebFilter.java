@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Emits an {@link InboundRequestEvent} for every inbound request.
+ */
+public class JfrWebFilter implements WebFilter {
+
+    private final String connector;
+
+    public JfrWebFilter(String connector) {
+        this.connector = connector;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        InboundRequestEvent event = new InboundRequestEvent();
+        if (!event.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        event.begin();
+        return chain.filter(exchange)
+                .doFinally(signal -> commit(event, exchange));
+    }
+
+    private void commit(InboundRequestEvent event, ServerWebExchange exchange) {
+        event.end();
+        if (event.shouldCommit()) {
+            String path = path(exchange);
+            event.connector = connector;
+            event.kind = kind(exchange.getRequest().getMethod(), path);
+            event.endpoint = exchange.getRequest().getMethodValue() + " " + path;
+            HttpStatus status = exchange.getResponse().getStatusCode();
+            event.status = status == null ? HttpStatus.OK.value() : status.value();
+            event.requestBytes = exchange.getRequest().getHeaders().getContentLength();
+            event.responseBytes = exchange.getResponse().getHeaders().getContentLength();
+            event.commit();
+        }
+    }
+
+    private static String path(ServerWebExchange exchange) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? exchange.getRequest().getPath().pathWithinApplication().value() : pattern.getPatternString();
+    }
+
+    /*
+     * Card requests are POSTs to .../cards/requests; other POSTs are actions.
+     */
+    private static String kind(HttpMethod method, String path) {
+        if (path.endsWith("/cards/requests")) {
+            return "cards";
+        } else if (path.contains("attachment")) {
+            return "attachment";
+        } else if (method == HttpMethod.POST) {
+            return "action";
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Parsing of a backend response into a JsonDocument. Only recorded when slower than the threshold.
+ */
+@Name("com.vmware.connectors.JsonDecode")
+@Label("JSON Decode")
+@Category(ConnectorEvents.CATEGORY)
+@Description("Parsing of a backend response into a JsonDocument")
+@Threshold("1 ms")
+public class JsonDecodeEvent extends jdk.jfr.Event {
+
+    @Label("Characters")
+    long characters;
+}
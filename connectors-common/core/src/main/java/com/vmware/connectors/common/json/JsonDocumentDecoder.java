@@ -7,6 +7,8 @@ package com.vmware.connectors.common.json;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.vmware.connectors.common.jfr.ConnectorEvents;
+import com.vmware.connectors.common.jfr.JsonDecodeEvent;
 import org.apache.commons.io.IOUtils;
 import org.reactivestreams.Publisher;
 import org.springframework.core.ResolvableType;
@@ -54,7 +56,14 @@ public class JsonDocumentDecoder implements HttpMessageDecoder<JsonDocument> {
                 .flatMap(buffer -> toString(buffer, mimeType.getCharset()))
                 .collect(StringBuilder::new, StringBuilder::append)
                 .map(StringBuilder::toString)
-                .map(message -> new JsonDocument(jsonProvider.parse(message)));
+                .map(this::parse);
+    }
+
+    private JsonDocument parse(String message) {
+        JsonDecodeEvent event = ConnectorEvents.jsonDecode();
+        JsonDocument document = new JsonDocument(jsonProvider.parse(message));
+        ConnectorEvents.commit(event, message.length());
+        return document;
     }
 
     @Override
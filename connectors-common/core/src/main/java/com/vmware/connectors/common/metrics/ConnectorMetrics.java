@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.metrics;
+
+/**
+ * Names and tags of the meters every connector publishes. All of them also carry the
+ * connector tag, which is set for the whole registry from spring.application.name.
+ */
+public final class ConnectorMetrics {
+
+    /**
+     * Timer of outbound backend calls, tagged by endpoint and status.
+     */
+    public static final String BACKEND_REQUESTS = "connector.backend.requests";
+
+    /**
+     * Counter of outbound backend calls that failed with a 5xx or without a response, tagged by endpoint and reason.
+     */
+    public static final String BACKEND_ERRORS = "connector.backend.errors";
+
+    /**
+     * Counter of outbound backend calls rejected with 429 Too Many Requests, tagged by endpoint.
+     */
+    public static final String BACKEND_THROTTLED = "connector.backend.throttled";
+
+    /**
+     * Counter of inbound requests that made more calls to an endpoint than its CallBudget allows, tagged by endpoint.
+     */
+    public static final String BACKEND_BUDGET_EXCEEDED = "connector.backend.budget.exceeded";
+
+    /**
+     * Timer of Card.Builder.build, which includes computing the card's hash.
+     */
+    public static final String CARD_BUILD = "connector.card.build";
+
+    /**
+     * Distribution of the number of cards in each Cards response.
+     */
+    public static final String CARDS_PER_RESPONSE = "connector.cards.per.response";
+
+    /**
+     * Distribution of the serialized size of each Cards response, in bytes, before compression.
+     */
+    public static final String CARDS_RESPONSE_SIZE = "connector.cards.response.size";
+
+    /**
+     * Counter of polls served through PrecomputedCards, tagged by result: fresh, stale (served while
+     * refreshing in the background) or miss (waited for the backend).
+     */
+    public static final String CARDS_PRECOMPUTED = "connector.cards.precomputed";
+
+    /**
+     * Counter of webhook notifications, tagged by source and result: accepted or rejected.
+     */
+    public static final String WEBHOOK_NOTIFICATIONS = "connector.webhook.notifications";
+
+    public static final String ENDPOINT_TAG = "endpoint";
+    public static final String STATUS_TAG = "status";
+    public static final String REASON_TAG = "reason";
+
+    private ConnectorMetrics() {
+        // Do not construct
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.payloads.response.Cards;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.CARDS_PER_RESPONSE;
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.CARDS_RESPONSE_SIZE;
+
+/**
+ * The usual JSON encoder, recording how many cards each {@link Cards} response holds and how big it is.
+ */
+public class MeteredJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private final DistributionSummary cardsPerResponse;
+    private final DistributionSummary responseSize;
+
+    public MeteredJackson2JsonEncoder(ObjectMapper mapper, MeterRegistry registry) {
+        super(mapper);
+        this.cardsPerResponse = DistributionSummary.builder(CARDS_PER_RESPONSE)
+                .register(registry);
+        this.responseSize = DistributionSummary.builder(CARDS_RESPONSE_SIZE)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        DataBuffer buffer = super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        if (value instanceof Cards) {
+            cardsPerResponse.record(((Cards) value).getCards().size());
+            responseSize.record(buffer.readableByteCount());
+        }
+        return buffer;
+    }
+}
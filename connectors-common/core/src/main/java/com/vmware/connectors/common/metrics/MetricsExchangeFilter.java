@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.metrics;
+
+import com.vmware.connectors.common.http.BackendCall;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.*;
+
+/**
+ * Times every outbound backend call and counts errors and throttling, tagged by the call's
+ * logical endpoint (see {@link BackendCall}).
+ */
+public class MetricsExchangeFilter implements ExchangeFilterFunction {
+
+    private final MeterRegistry registry;
+
+    public MetricsExchangeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = BackendCall.nameOf(request);
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return next.exchange(request)
+                    .doOnNext(response -> onResponse(endpoint, sample, response.rawStatusCode()))
+                    .doOnError(throwable -> onError(endpoint, sample, throwable));
+        });
+    }
+
+    private void onResponse(String endpoint, Timer.Sample sample, int status) {
+        sample.stop(timer(endpoint, Integer.toString(status)));
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            registry.counter(BACKEND_THROTTLED, ENDPOINT_TAG, endpoint).increment();
+        } else if (status >= 500) {
+            registry.counter(BACKEND_ERRORS, ENDPOINT_TAG, endpoint, REASON_TAG, Integer.toString(status)).increment();
+        }
+    }
+
+    private void onError(String endpoint, Timer.Sample sample, Throwable throwable) {
+        sample.stop(timer(endpoint, "none"));
+        registry.counter(BACKEND_ERRORS, ENDPOINT_TAG, endpoint, REASON_TAG, throwable.getClass().getSimpleName()).increment();
+    }
+
+    private Timer timer(String endpoint, String status) {
+        return Timer.builder(BACKEND_REQUESTS)
+                .tag(ENDPOINT_TAG, endpoint)
+                .tag(STATUS_TAG, status)
+                .register(registry);
+    }
+}
@@ -7,7 +7,12 @@ package com.vmware.connectors.common.payloads.response;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.vmware.connectors.common.jfr.CardBuildEvent;
+import com.vmware.connectors.common.jfr.ConnectorEvents;
+import com.vmware.connectors.common.metrics.ConnectorMetrics;
 import com.vmware.connectors.common.utils.HashUtil;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -19,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -266,6 +272,9 @@ public class Card {
      */
     public static class Builder {
 
+        // Registered with the global registry, which Spring Boot adds the application's registries to.
+        private static final Timer BUILD_TIMER = Metrics.timer(ConnectorMetrics.CARD_BUILD);
+
         private Card card;
 
         /**
@@ -511,13 +520,18 @@ public class Card {
          */
         @SuppressWarnings("PMD.UnnecessaryLocalBeforeReturn")
         public Card build() {
+            long start = System.nanoTime();
+            CardBuildEvent event = ConnectorEvents.cardBuild();
             // If the connector author has already set the hash, then do not override.
-            if (StringUtils.isBlank(card.hash)) {
+            boolean hashComputed = StringUtils.isBlank(card.hash);
+            if (hashComputed) {
                 card.hash = computeHash();
             }
 
             Card completedCard = this.card;
             reset();
+            BUILD_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            ConnectorEvents.commit(event, completedCard.getActions().size(), hashComputed);
             return completedCard;
         }
 
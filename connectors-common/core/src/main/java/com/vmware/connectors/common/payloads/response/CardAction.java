@@ -72,6 +72,9 @@ public class CardAction {
     @JsonProperty("mutually_exclusive_set_id")
     private String mutuallyExclusiveSetId;
 
+    // Set on actions created from a CardActionTemplate, which share its user input and its hash
+    private String userInputHash;
+
     // Don't instantiate directly - use the Builder class below
     private CardAction() {
         this.type = HttpMethod.GET;
@@ -81,6 +84,24 @@ public class CardAction {
         this.completedLabel = "Completed";
     }
 
+    // Don't instantiate directly - use a CardActionTemplate. A null request shares the skeleton's.
+    CardAction(CardAction skeleton, String userInputHash, String url, Map<String, String> request) {
+        this.id = UUID.randomUUID();
+        this.primary = skeleton.primary;
+        this.label = skeleton.label;
+        this.url = new Link(url);
+        this.type = skeleton.type;
+        this.contentType = skeleton.contentType;
+        this.actionKey = skeleton.actionKey;
+        this.removeCardOnCompletion = skeleton.removeCardOnCompletion;
+        this.request = request == null ? skeleton.request : request;
+        this.userInput = skeleton.userInput;
+        this.completedLabel = skeleton.completedLabel;
+        this.allowRepeated = skeleton.allowRepeated;
+        this.mutuallyExclusiveSetId = skeleton.mutuallyExclusiveSetId;
+        this.userInputHash = userInputHash;
+    }
+
     /**
      * Get the {@link CardAction}'s id, a unique identifier for the action.
      *
@@ -445,13 +466,6 @@ public class CardAction {
     public String hash() {
         final String url = this.url == null ? null : this.url.getHref();
 
-        final List<String> userInputHashList = new ArrayList<>();
-        if (!CollectionUtils.isEmpty(userInput)) {
-            userInput.forEach(actionInput ->
-                    userInputHashList.add(actionInput == null ? StringUtils.SPACE : actionInput.hash())
-            );
-        }
-
         return HashUtil.hash(
                 "primary: ", this.primary,
                 "label: ", this.label,
@@ -461,13 +475,23 @@ public class CardAction {
                 "action_key: ", this.actionKey,
                 "remove_card_on_completion: ", this.removeCardOnCompletion,
                 "request: ", HashUtil.hashMap(this.request),
-                "user_input: ", HashUtil.hashList(userInputHashList),
+                "user_input: ", userInputHash == null ? hashUserInput() : userInputHash,
                 "completed_label: ", this.completedLabel,
                 "allow_repeated: ", this.allowRepeated,
                 "mutually_exclusive_set_id: ", this.mutuallyExclusiveSetId
         );
     }
 
+    String hashUserInput() {
+        final List<String> userInputHashList = new ArrayList<>();
+        if (!CollectionUtils.isEmpty(userInput)) {
+            userInput.forEach(actionInput ->
+                    userInputHashList.add(actionInput == null ? StringUtils.SPACE : actionInput.hash())
+            );
+        }
+        return HashUtil.hashList(userInputHashList);
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this, SHORT_PREFIX_STYLE);
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.payloads.response;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable {@link CardAction} without a URL, to be turned into an action for each card. Everything
+ * that is the same for every card (labels, type, user input, request parameters common to all cards) is
+ * built and hashed once; each card's action only adds its URL and its own request parameters.
+ * <p>
+ * Actions created from a template are serialized and hashed exactly like the same action built with a
+ * {@link CardAction.Builder}. Templates are typically per locale, and kept in {@link CardActionTemplates}.
+ */
+public final class CardActionTemplate {
+
+    private final CardAction skeleton;
+    private final String userInputHash;
+
+    private CardActionTemplate(CardAction skeleton) {
+        this.skeleton = skeleton;
+        this.userInputHash = skeleton.hashUserInput();
+    }
+
+    /**
+     * Create a template from a builder holding everything but the URL and the per-card request parameters.
+     * The builder is reset, as by {@link CardAction.Builder#build()}.
+     *
+     * @param builder the action skeleton
+     * @return the template
+     */
+    public static CardActionTemplate of(CardAction.Builder builder) {
+        return new CardActionTemplate(builder.build());
+    }
+
+    /**
+     * Create an action for a card, with a new id.
+     *
+     * @param url the URL of the action's endpoint
+     * @return the action
+     */
+    public CardAction newAction(String url) {
+        return new CardAction(skeleton, userInputHash, url, null);
+    }
+
+    /**
+     * Create an action for a card, with a new id.
+     *
+     * @param url the URL of the action's endpoint
+     * @param requestParams request parameters for this card, added to those of the template
+     * @return the action
+     */
+    public CardAction newAction(String url, Map<String, String> requestParams) {
+        if (requestParams.isEmpty()) {
+            return newAction(url);
+        }
+        Map<String, String> request = new HashMap<>(skeleton.getRequest());
+        request.putAll(requestParams);
+        return new CardAction(skeleton, userInputHash, url, request);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.payloads.response;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of {@link CardActionTemplate}s by name and locale, so that localized labels, user input
+ * definitions and hashes are worked out once per locale rather than once per card:
+ * <pre>
+ *     CardAction approve = templates.get("approve", locale, l -&gt; new CardAction.Builder()
+ *                     .setLabel(connectorTextAccessor.getActionLabel("approve", l))
+ *                     .setCompletedLabel(connectorTextAccessor.getActionCompletedLabel("approve", l))
+ *                     .setType(HttpMethod.POST)
+ *                     .setActionKey(CardActionKey.USER_INPUT)
+ *                     .addUserInputField(commentField(l)))
+ *             .newAction(routingPrefix + "api/approve/" + id, Map.of("id", id));
+ * </pre>
+ * The skeleton function must depend on nothing but the name and the locale.
+ */
+public class CardActionTemplates {
+
+    private final Map<Locale, Map<String, CardActionTemplate>> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Get the template for the name and locale, creating it on first use.
+     *
+     * @param name the action's name, unique within the connector
+     * @param locale the locale, or null for the default messages
+     * @param skeleton creates the builder for the template
+     * @return the template
+     */
+    public CardActionTemplate get(String name, Locale locale, Function<Locale, CardAction.Builder> skeleton) {
+        return templates.computeIfAbsent(locale == null ? Locale.ROOT : locale, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, key -> CardActionTemplate.of(skeleton.apply(locale)));
+    }
+
+    /**
+     * Drop all templates, e.g. after the message sources have been reloaded.
+     */
+    public void clear() {
+        templates.clear();
+    }
+}
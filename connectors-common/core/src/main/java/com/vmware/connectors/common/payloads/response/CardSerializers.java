@@ -0,0 +1,641 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.payloads.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Serializers for the card response model that write straight to the {@link JsonGenerator}, instead of
+ * going through Jackson's reflective bean serialization. Each type's output matches what its Jackson
+ * annotations produce with the default ObjectMapper inclusion settings: same fields, same order,
+ * same omissions. Dates, UUIDs and other non-trivial scalars are still handed to the
+ * {@link SerializerProvider}, so the mapper's settings (e.g. WRITE_DATES_AS_TIMESTAMPS) apply.
+ * <p>
+ * When the {@link CardsModule#COMPACT} attribute is set, the compact profile described there is written instead.
+ * <p>
+ * Registered by {@link CardsModule}.
+ */
+final class CardSerializers {
+
+    private CardSerializers() {
+        // Do not construct
+    }
+
+    static final class CardsSerializer extends StdSerializer<Cards> {
+
+        private static final long serialVersionUID = 1L;
+
+        CardsSerializer() {
+            super(Cards.class);
+        }
+
+        @Override
+        public void serialize(Cards cards, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Writer writer = new Writer(gen, provider);
+            gen.writeStartObject(cards);
+            if (writer.compact) {
+                writer.writeCompactPreamble(cards.getCards());
+            }
+            gen.writeFieldName("objects");
+            List<Card> objects = cards.getCards();
+            gen.writeStartArray(objects, objects.size());
+            for (Card card : objects) {
+                writer.writeCard(card);
+            }
+            gen.writeEndArray();
+            if (cards.isPartial()) {
+                gen.writeBooleanField("partial", true);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CardSerializer extends StdSerializer<Card> {
+
+        private static final long serialVersionUID = 1L;
+
+        CardSerializer() {
+            super(Card.class);
+        }
+
+        @Override
+        public void serialize(Card card, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            new Writer(gen, provider).writeCard(card);
+        }
+    }
+
+    static final class CardBodySerializer extends StdSerializer<CardBody> {
+
+        private static final long serialVersionUID = 1L;
+
+        CardBodySerializer() {
+            super(CardBody.class);
+        }
+
+        @Override
+        public void serialize(CardBody body, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            new Writer(gen, provider).writeBody(body);
+        }
+    }
+
+    static final class CardActionSerializer extends StdSerializer<CardAction> {
+
+        private static final long serialVersionUID = 1L;
+
+        CardActionSerializer() {
+            super(CardAction.class);
+        }
+
+        @Override
+        public void serialize(CardAction action, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            new Writer(gen, provider).writeAction(action);
+        }
+    }
+
+    /*
+     * Holds the state of one serialization: the generator, whether the compact profile is in effect,
+     * and in that case the action templates and card defaults found for the Cards being written.
+     */
+    private static final class Writer {
+
+        private final JsonGenerator gen;
+        private final SerializerProvider provider;
+        private final boolean compact;
+
+        private Map<CardAction, Integer> templates = Map.of();
+        private Link defaultTemplate;
+        private Link defaultImage;
+        private Set<String> defaultTags;
+
+        Writer(JsonGenerator gen, SerializerProvider provider) {
+            this.gen = gen;
+            this.provider = provider;
+            this.compact = Boolean.TRUE.equals(provider.getAttribute(CardsModule.COMPACT));
+        }
+
+        void writeCompactPreamble(List<Card> cards) throws IOException {
+            Map<ActionContent, Integer> indexes = new LinkedHashMap<>();
+            Map<ActionContent, CardAction> firstSeen = new LinkedHashMap<>();
+            Map<CardAction, ActionContent> contents = new IdentityHashMap<>();
+            for (Card card : cards) {
+                if (card == null) {
+                    continue;
+                }
+                for (CardAction action : card.getActions()) {
+                    if (action == null) {
+                        continue;
+                    }
+                    ActionContent content = new ActionContent(action);
+                    contents.put(action, content);
+                    if (firstSeen.putIfAbsent(content, action) != null) {
+                        indexes.putIfAbsent(content, indexes.size());
+                    }
+                }
+            }
+            if (!indexes.isEmpty()) {
+                gen.writeFieldName("action_templates");
+                gen.writeStartArray(indexes.keySet(), indexes.size());
+                for (ActionContent content : indexes.keySet()) {
+                    writeActionContent(firstSeen.get(content));
+                }
+                gen.writeEndArray();
+                templates = new IdentityHashMap<>();
+                for (Map.Entry<CardAction, ActionContent> entry : contents.entrySet()) {
+                    Integer index = indexes.get(entry.getValue());
+                    if (index != null) {
+                        templates.put(entry.getKey(), index);
+                    }
+                }
+            }
+            writeCardDefaults(cards);
+        }
+
+        private void writeCardDefaults(List<Card> cards) throws IOException {
+            if (cards.size() < 2 || cards.contains(null)) {
+                return;
+            }
+            Card first = cards.get(0);
+            boolean sameTemplate = sameLink(cards, Card::getTemplate);
+            boolean sameImage = sameLink(cards, Card::getImage);
+            boolean sameTags = !isEmpty(first.getTags())
+                    && cards.stream().allMatch(card -> first.getTags().equals(card.getTags()));
+            if (!sameTemplate && !sameImage && !sameTags) {
+                return;
+            }
+            gen.writeFieldName("card_defaults");
+            gen.writeStartObject();
+            if (sameTemplate) {
+                defaultTemplate = first.getTemplate();
+                writeLink("template", defaultTemplate);
+            }
+            if (sameImage) {
+                defaultImage = first.getImage();
+                writeLink("image", defaultImage);
+            }
+            if (sameTags) {
+                defaultTags = first.getTags();
+                gen.writeFieldName("tags");
+                writeStrings(defaultTags);
+            }
+            gen.writeEndObject();
+        }
+
+        private static boolean sameLink(List<Card> cards, Function<Card, Link> accessor) {
+            Link first = accessor.apply(cards.get(0));
+            if (first == null || first.getHref() == null) {
+                return false;
+            }
+            for (Card card : cards) {
+                Link link = accessor.apply(card);
+                if (link == null || !first.getHref().equals(link.getHref())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void writeCard(Card card) throws IOException {
+            if (card == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(card);
+            writeValue("id", card.getId());
+            writeString("name", card.getName());
+            writeSticky(card.getSticky());
+            writeValue("creation_date", card.getCreationDate());
+            writeValue("expiration_date", card.getExpirationDate());
+            writeValue("due_date", card.getDueDate());
+            if (card.getImportance() != null) {
+                gen.writeNumberField("importance", card.getImportance());
+            }
+            if (defaultTemplate == null) {
+                writeLink("template", card.getTemplate());
+            }
+            writeHeader(card.getHeader());
+            writeBanner(card.getBanner());
+            if (card.getBody() != null) {
+                gen.writeFieldName("body");
+                writeBody(card.getBody());
+            }
+            if (!isEmpty(card.getActions())) {
+                gen.writeFieldName("actions");
+                writeActions(card.getActions());
+            }
+            if (defaultImage == null) {
+                writeLink("image", card.getImage());
+            }
+            if (defaultTags == null && !isEmpty(card.getTags())) {
+                gen.writeFieldName("tags");
+                writeStrings(card.getTags());
+            }
+            writeString("backend_id", card.getBackendId());
+            writeString("hash", card.getHash());
+            if (!isEmpty(card.getLinks())) {
+                gen.writeFieldName("links");
+                writeOpenInLinks(card.getLinks());
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeSticky(Sticky sticky) throws IOException {
+            if (sticky == null) {
+                return;
+            }
+            gen.writeFieldName("sticky");
+            gen.writeStartObject(sticky);
+            writeValue("until", sticky.getUntil());
+            writeString("type", sticky.getType());
+            gen.writeEndObject();
+        }
+
+        private void writeLink(String name, Link link) throws IOException {
+            if (link == null || compact && link.getHref() == null) {
+                return;
+            }
+            gen.writeFieldName(name);
+            // Link has no inclusion rule, so a null href is written
+            gen.writeStartObject(link);
+            gen.writeStringField("href", link.getHref());
+            gen.writeEndObject();
+        }
+
+        private void writeHeader(CardHeader header) throws IOException {
+            if (header == null) {
+                return;
+            }
+            gen.writeFieldName("header");
+            gen.writeStartObject(header);
+            writeString("title", header.getTitle());
+            if (header.getSubtitle() != null) {
+                gen.writeFieldName("subtitle");
+                writeStrings(header.getSubtitle());
+            }
+            CardHeaderLinks links = header.getLinks();
+            if (links != null) {
+                gen.writeFieldName("links");
+                gen.writeStartObject(links);
+                writeString("title", links.getTitle());
+                if (links.getSubtitle() != null) {
+                    gen.writeFieldName("subtitle");
+                    writeStrings(links.getSubtitle());
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeBanner(CardBanner banner) throws IOException {
+            if (banner == null) {
+                return;
+            }
+            gen.writeFieldName("banner");
+            gen.writeStartObject(banner);
+            List<BannerItem> items = banner.getItems();
+            if (items != null) {
+                gen.writeFieldName("items");
+                gen.writeStartArray(items, items.size());
+                for (BannerItem item : items) {
+                    writeBannerItem(item);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeBannerItem(BannerItem item) throws IOException {
+            if (item == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(item);
+            if (item.getType() != null) {
+                gen.writeStringField("type", item.getType().getValue());
+            }
+            writeString("href", item.getHref());
+            writeString("title", item.getTitle());
+            writeString("description", item.getDescription());
+            gen.writeEndObject();
+        }
+
+        void writeBody(CardBody body) throws IOException {
+            gen.writeStartObject(body);
+            writeString("description", body.getDescription());
+            List<CardBodyField> fields = body.getFields();
+            if (!isEmpty(fields)) {
+                gen.writeFieldName("fields");
+                gen.writeStartArray(fields, fields.size());
+                for (CardBodyField field : fields) {
+                    writeBodyField(field);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeBodyField(CardBodyField field) throws IOException {
+            if (field == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(field);
+            writeString("type", field.getType());
+            writeString("title", field.getTitle());
+            writeString("subtitle", field.getSubtitle());
+            writeString("description", field.getDescription());
+            List<Map<String, String>> content = field.getContent();
+            if (!isEmpty(content)) {
+                gen.writeFieldName("content");
+                gen.writeStartArray(content, content.size());
+                for (Map<String, String> entry : content) {
+                    writeStringMap(entry);
+                }
+                gen.writeEndArray();
+            }
+            List<CardBodyFieldItem> items = field.getItems();
+            if (!isEmpty(items)) {
+                gen.writeFieldName("items");
+                gen.writeStartArray(items, items.size());
+                for (CardBodyFieldItem item : items) {
+                    writeBodyFieldItem(item);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeBodyFieldItem(CardBodyFieldItem item) throws IOException {
+            if (item == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(item);
+            if (item.getType() != null) {
+                gen.writeStringField("type", item.getType().name());
+            }
+            writeString("title", item.getTitle());
+            writeString("description", item.getDescription());
+            writeString("attachment_name", item.getAttachmentName());
+            writeString("vendor_attachment_url", item.getVendorAttachmentUrl());
+            writeString("attachment_content_type", item.getAttachmentContentType());
+            if (item.getAttachmentContentLength() != null) {
+                gen.writeNumberField("attachment_content_length", item.getAttachmentContentLength());
+            }
+            writeString("attachment_url", item.getAttachmentUrl());
+            if (item.getAttachmentMethod() != null) {
+                gen.writeStringField("attachment_method", item.getAttachmentMethod().name());
+            }
+            writeValue("created_at", item.getCreatedAt());
+            writeValue("updated_at", item.getUpdatedAt());
+            gen.writeEndObject();
+        }
+
+        private void writeActions(List<CardAction> actions) throws IOException {
+            gen.writeStartArray(actions, actions.size());
+            for (CardAction action : actions) {
+                writeAction(action);
+            }
+            gen.writeEndArray();
+        }
+
+        void writeAction(CardAction action) throws IOException {
+            if (action == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(action);
+            writeValue("id", action.getId());
+            Integer template = templates.get(action);
+            if (template == null) {
+                writeActionFields(action);
+            } else {
+                gen.writeNumberField("template", template);
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeActionContent(CardAction action) throws IOException {
+            gen.writeStartObject(action);
+            writeActionFields(action);
+            gen.writeEndObject();
+        }
+
+        private void writeActionFields(CardAction action) throws IOException {
+            if (action.isPrimary()) {
+                gen.writeBooleanField("primary", true);
+            }
+            writeString("label", action.getLabel());
+            writeLink("url", action.getUrl());
+            if (action.getType() != null) {
+                gen.writeStringField("type", action.getType().name());
+            }
+            writeString("content_type", action.getContentType());
+            writeString("action_key", action.getActionKey());
+            if (action.isRemoveCardOnCompletion()) {
+                gen.writeBooleanField("remove_card_on_completion", true);
+            }
+            if (action.getRequest() != null && !(compact && action.getRequest().isEmpty())) {
+                gen.writeFieldName("request");
+                writeStringMap(action.getRequest());
+            }
+            List<CardActionInputField> userInput = action.getUserInput();
+            if (userInput != null && !(compact && userInput.isEmpty())) {
+                gen.writeFieldName("user_input");
+                gen.writeStartArray(userInput, userInput.size());
+                for (CardActionInputField field : userInput) {
+                    writeInputField(field);
+                }
+                gen.writeEndArray();
+            }
+            writeString("completed_label", action.getCompletedLabel());
+            if (action.isAllowRepeated() || !compact) {
+                gen.writeBooleanField("allow_repeated", action.isAllowRepeated());
+            }
+            writeString("mutually_exclusive_set_id", action.getMutuallyExclusiveSetId());
+        }
+
+        private void writeInputField(CardActionInputField field) throws IOException {
+            if (field == null) {
+                gen.writeNull();
+                return;
+            }
+            // CardActionInputField has no class-level inclusion rule, so a null id or label is written
+            gen.writeStartObject(field);
+            writeNullable("id", field.getId());
+            writeNullable("label", field.getLabel());
+            writeNonEmptyString("display_content", field.getDisplayContent());
+            writeNonEmptyString("format", field.getFormat());
+            if (field.getOptions() != null && !field.getOptions().isEmpty()) {
+                gen.writeFieldName("options");
+                writeStringMap(field.getOptions());
+            }
+            if (field.getMinLength() != 0) {
+                gen.writeNumberField("min_length", field.getMinLength());
+            }
+            if (field.getMaxLength() != 0) {
+                gen.writeNumberField("max_length", field.getMaxLength());
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeOpenInLinks(List<OpenInLink> links) throws IOException {
+            gen.writeStartArray(links, links.size());
+            for (OpenInLink link : links) {
+                // OpenInLink has no inclusion rule, so null properties are written
+                gen.writeStartObject(link);
+                writeNullable("href", link.getHref() == null ? null : link.getHref().toString());
+                writeNullable("text", link.getText());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+
+        private void writeStrings(Collection<String> values) throws IOException {
+            gen.writeStartArray(values, values.size());
+            for (String value : values) {
+                gen.writeString(value);
+            }
+            gen.writeEndArray();
+        }
+
+        private void writeStringMap(Map<String, String> map) throws IOException {
+            if (map == null) {
+                gen.writeNull();
+                return;
+            }
+            gen.writeStartObject(map);
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                gen.writeStringField(entry.getKey(), entry.getValue());
+            }
+            gen.writeEndObject();
+        }
+
+        private void writeString(String name, String value) throws IOException {
+            if (value != null) {
+                gen.writeStringField(name, value);
+            }
+        }
+
+        /*
+         * For properties without an inclusion rule: null is written, except in the compact profile.
+         */
+        private void writeNullable(String name, String value) throws IOException {
+            if (value != null || !compact) {
+                gen.writeStringField(name, value);
+            }
+        }
+
+        private void writeNonEmptyString(String name, String value) throws IOException {
+            if (value != null && !value.isEmpty()) {
+                gen.writeStringField(name, value);
+            }
+        }
+
+        private void writeValue(String name, Object value) throws IOException {
+            if (value != null) {
+                provider.defaultSerializeField(name, value, gen);
+            }
+        }
+    }
+
+    /*
+     * Everything about an action that is serialized, apart from its id. Two actions with equal
+     * content can share a template in the compact profile.
+     */
+    private static final class ActionContent {
+
+        private final CardAction action;
+        private final int hashCode;
+
+        ActionContent(CardAction action) {
+            this.action = action;
+            this.hashCode = Objects.hash(
+                    action.getLabel(),
+                    action.getUrl() == null ? null : action.getUrl().getHref(),
+                    action.getType(),
+                    action.getActionKey(),
+                    action.getRequest()
+            );
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ActionContent)) {
+                return false;
+            }
+            CardAction that = ((ActionContent) other).action;
+            return hashCode == other.hashCode()
+                    && action.isPrimary() == that.isPrimary()
+                    && Objects.equals(action.getLabel(), that.getLabel())
+                    && Objects.equals(href(action.getUrl()), href(that.getUrl()))
+                    && action.getType() == that.getType()
+                    && Objects.equals(action.getContentType(), that.getContentType())
+                    && Objects.equals(action.getActionKey(), that.getActionKey())
+                    && action.isRemoveCardOnCompletion() == that.isRemoveCardOnCompletion()
+                    && Objects.equals(action.getRequest(), that.getRequest())
+                    && sameInputFields(action.getUserInput(), that.getUserInput())
+                    && Objects.equals(action.getCompletedLabel(), that.getCompletedLabel())
+                    && action.isAllowRepeated() == that.isAllowRepeated()
+                    && Objects.equals(action.getMutuallyExclusiveSetId(), that.getMutuallyExclusiveSetId());
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static String href(Link link) {
+            return link == null ? null : link.getHref();
+        }
+
+        private static boolean sameInputFields(List<CardActionInputField> fields, List<CardActionInputField> others) {
+            if (fields == null || others == null) {
+                return fields == others;
+            }
+            if (fields.size() != others.size()) {
+                return false;
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                if (!sameInputField(fields.get(i), others.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean sameInputField(CardActionInputField field, CardActionInputField other) {
+            if (field == null || other == null) {
+                return field == other;
+            }
+            return Objects.equals(field.getId(), other.getId())
+                    && Objects.equals(field.getLabel(), other.getLabel())
+                    && Objects.equals(field.getDisplayContent(), other.getDisplayContent())
+                    && Objects.equals(field.getFormat(), other.getFormat())
+                    && Objects.equals(field.getOptions(), other.getOptions())
+                    && field.getMinLength() == other.getMinLength()
+                    && field.getMaxLength() == other.getMaxLength();
+        }
+    }
+
+    private static boolean isEmpty(Collection<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
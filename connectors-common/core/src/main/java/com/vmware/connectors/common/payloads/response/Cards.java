@@ -5,6 +5,7 @@
 
 package com.vmware.connectors.common.payloads.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
@@ -18,6 +19,10 @@ public class Cards {
     @JsonProperty("objects")
     private final List<Card> cards = new ArrayList<>();
 
+    @JsonProperty("partial")
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean partial;
+
     /**
      * Gets collection of connector cards
      *
@@ -27,4 +32,18 @@ public class Cards {
         return cards;
     }
 
+    /**
+     * Whether the request's deadline arrived before all cards could be built, so only
+     * the cards completed by then are included.
+     *
+     * @return true if this is not the complete list of cards
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
 }
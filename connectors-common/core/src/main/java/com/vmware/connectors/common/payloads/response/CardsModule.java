@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.payloads.response;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module that serializes {@link Cards}, {@link Card}, {@link CardBody} and {@link CardAction}
+ * with hand-written serializers instead of reflective bean serialization. The output is byte-for-byte
+ * the same as without the module, as long as the ObjectMapper keeps the default property inclusion.
+ * <p>
+ * Writing with the {@link #COMPACT} attribute set to true, e.g.
+ * {@code objectMapper.writer().withAttribute(CardsModule.COMPACT, true)}, selects the compact profile:
+ * <ul>
+ *     <li>null, false and empty values that the standard profile writes are left out
+ *     (allow_repeated=false, empty request and user_input, null hrefs and input field ids)</li>
+ *     <li>actions that appear more than once in a {@link Cards} are written once, in a top-level
+ *     action_templates array, and referenced from each card as {"id": ..., "template": index}</li>
+ *     <li>a template, an image or a set of tags shared by every card is written once, in a top-level
+ *     card_defaults object, and left out of the cards</li>
+ * </ul>
+ */
+public class CardsModule extends SimpleModule {
+
+    /**
+     * ObjectWriter attribute that selects the compact profile when set to {@link Boolean#TRUE}.
+     */
+    public static final String COMPACT = CardsModule.class.getName() + ".compact";
+
+    private static final long serialVersionUID = 1L;
+
+    public CardsModule() {
+        super("CardsModule");
+        addSerializer(Cards.class, new CardSerializers.CardsSerializer());
+        addSerializer(Card.class, new CardSerializers.CardSerializer());
+        addSerializer(CardBody.class, new CardSerializers.CardBodySerializer());
+        addSerializer(CardAction.class, new CardSerializers.CardActionSerializer());
+    }
+}
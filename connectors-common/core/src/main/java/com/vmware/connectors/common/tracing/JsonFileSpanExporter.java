@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends each span to a file as one line of JSON. Meant for local runs and tests, where there is
+ * no collector; the file can be read with any JSON tool, e.g.
+ * <pre>
+ *     jq -s 'sort_by(.startTime)' traces.ndjson
+ * </pre>
+ * Spans are queued and written in batches by a thread of the exporter's own, since they often end on
+ * an event loop. Spans that arrive while the queue is full are dropped.
+ */
+public class JsonFileSpanExporter implements SpanExporter, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonFileSpanExporter.class);
+
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 512;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Writer writer;
+    private final BlockingQueue<Span> queue;
+    private final Thread thread;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public JsonFileSpanExporter(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param file the file to append to
+     * @param capacity the most spans waiting to be written
+     */
+    public JsonFileSpanExporter(Path file, int capacity) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.thread = new Thread(this::run, "span-exporter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void export(Span span) {
+        if (closed || !queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        List<Span> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Span first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Span> batch) {
+        try {
+            for (Span span : batch) {
+                writer.write(objectMapper.writeValueAsString(toMap(span)));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to export {} spans", batch.size(), e);
+        }
+    }
+
+    static Map<String, Object> toMap(Span span) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", span.getTraceId());
+        map.put("spanId", span.getSpanId());
+        map.put("parentSpanId", span.getParentSpanId());
+        map.put("name", span.getName());
+        map.put("kind", span.getKind().name());
+        map.put("startTime", span.getStartTime().toString());
+        map.put("durationMicros", span.getDuration().toNanos() / 1000);
+        map.put("error", span.isError());
+        map.put("attributes", span.getAttributes());
+        return map;
+    }
+
+    /**
+     * Write the spans still queued and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            logger.warn("Dropped {} spans because the export queue was full", dropped.get());
+        }
+        writer.close();
+    }
+}
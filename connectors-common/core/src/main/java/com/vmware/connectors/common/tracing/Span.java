@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation within a trace. Spans are only created for sampled traces, so code that finds
+ * none in the subscriber context (see {@link Tracing#current}) should just do its work untraced.
+ */
+public class Span {
+
+    public enum Kind {
+        SERVER, CLIENT, INTERNAL
+    }
+
+    private final SpanExporter exporter;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private volatile String name;
+    private final Kind kind;
+    private final Instant startTime;
+    private final long startNanos;
+    private final Map<String, String> attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile Duration duration;
+    private volatile boolean error;
+
+    Span(SpanExporter exporter, String traceId, String parentSpanId, String name, Kind kind) {
+        this.exporter = exporter;
+        this.traceId = traceId;
+        this.spanId = TraceIds.spanId();
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startTime = Instant.now();
+        this.startNanos = System.nanoTime();
+    }
+
+    public Span child(String name, Kind kind) {
+        return new Span(exporter, traceId, spanId, name, kind);
+    }
+
+    public Span setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Span setAttribute(String key, Object value) {
+        attributes.put(key, String.valueOf(value));
+        return this;
+    }
+
+    public Span setError(Throwable throwable) {
+        error = true;
+        return setAttribute("error", throwable.getClass().getSimpleName());
+    }
+
+    /**
+     * Ends the span and hands it to the exporter. Only the first call has any effect.
+     */
+    public void end() {
+        if (ended.compareAndSet(false, true)) {
+            duration = Duration.ofNanos(System.nanoTime() - startNanos);
+            exporter.export(this);
+        }
+    }
+
+    /**
+     * @return the W3C traceparent header value that makes this span the parent of a remote one
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public Map<String, String> getAttributes() {
+        synchronized (attributes) {
+            return Map.copyOf(attributes);
+        }
+    }
+}
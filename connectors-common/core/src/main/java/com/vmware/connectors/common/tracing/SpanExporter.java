@@ -0,0 +1,16 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+/**
+ * Receives every span when it ends. Called on the thread that ended the span, which is often
+ * a Netty event loop, so implementations must not block for long.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    void export(Span span);
+}
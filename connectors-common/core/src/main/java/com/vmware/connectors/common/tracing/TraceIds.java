@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generation and parsing of W3C Trace Context ids.
+ */
+final class TraceIds {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("^[0-9a-f]{2}-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})$");
+
+    private TraceIds() {
+        // Do not construct
+    }
+
+    static String traceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+
+    static String spanId() {
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param traceparent the traceparent header value
+     * @return the trace id, parent span id and sampled flag, if the header is valid
+     */
+    static Optional<Parent> parse(String traceparent) {
+        if (traceparent == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = TRACEPARENT.matcher(traceparent.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        boolean sampled = (Integer.parseInt(matcher.group(3), 16) & 1) == 1;
+        return Optional.of(new Parent(matcher.group(1), matcher.group(2), sampled));
+    }
+
+    static class Parent {
+        final String traceId;
+        final String spanId;
+        final boolean sampled;
+
+        Parent(String traceId, String spanId, boolean sampled) {
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.sampled = sampled;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Starts traces for inbound requests and finds the current span in the subscriber context,
+ * where it is kept under the Span class.
+ */
+public class Tracing {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private final SpanExporter exporter;
+    private final double sampleRate;
+
+    /**
+     * @param exporter receives the spans
+     * @param sampleRate fraction of new traces to record; traces continued from a traceparent header follow its sampled flag
+     */
+    public Tracing(SpanExporter exporter, double sampleRate) {
+        this.exporter = exporter;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @param name the span's name
+     * @param traceparent the inbound traceparent header, or null
+     * @return the root span of this service's part of the trace, or empty if the trace is not sampled
+     */
+    public Optional<Span> startServerSpan(String name, String traceparent) {
+        Optional<TraceIds.Parent> parent = TraceIds.parse(traceparent);
+        if (parent.isPresent()) {
+            return parent.filter(p -> p.sampled)
+                    .map(p -> new Span(exporter, p.traceId, p.spanId, name, Span.Kind.SERVER));
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return Optional.empty();
+        }
+        return Optional.of(new Span(exporter, TraceIds.traceId(), null, name, Span.Kind.SERVER));
+    }
+
+    public static Optional<Span> current(Context context) {
+        return context.getOrEmpty(Span.class);
+    }
+
+    /**
+     * Traces a step of the request as a child of the current span, from subscription until it
+     * completes, fails or is cancelled. Does nothing when the request is not traced.
+     * <pre>
+     *     getUser(...).transform(Tracing.traced("userLookup"))
+     * </pre>
+     *
+     * @param name the span's name
+     * @param <T> the type of the step's result
+     * @return the tracing operator
+     */
+    public static <T> Function<Mono<T>, Mono<T>> traced(String name) {
+        return mono -> Mono.subscriberContext()
+                .flatMap(context -> current(context)
+                        .map(parent -> Mono.defer(() -> {
+                            Span span = parent.child(name, Span.Kind.INTERNAL);
+                            return mono.doOnError(span::setError)
+                                    .doFinally(signal -> span.end())
+                                    .subscriberContext(ctx -> ctx.put(Span.class, span));
+                        }))
+                        .orElse(mono));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import com.vmware.connectors.common.http.BackendCall;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records a client span, named after the call's logical endpoint (see {@link BackendCall}), for each
+ * outbound call of a traced request, and passes the trace on to the backend in a traceparent header.
+ * The span ends when the response headers arrive.
+ */
+public class TracingExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.subscriberContext()
+                .flatMap(context -> Tracing.current(context)
+                        .map(parent -> Mono.defer(() -> {
+                            Span span = parent.child(BackendCall.nameOf(request), Span.Kind.CLIENT)
+                                    .setAttribute("http.method", request.method().name())
+                                    .setAttribute("http.host", request.url().getHost());
+                            ClientRequest traced = ClientRequest.from(request)
+                                    .header(Tracing.TRACEPARENT_HEADER, span.traceparent())
+                                    .build();
+                            return next.exchange(traced)
+                                    .doOnNext(response -> span.setAttribute("http.status_code", response.rawStatusCode()))
+                                    .doOnError(span::setError)
+                                    .doFinally(signal -> span.end());
+                        }))
+                        .orElseGet(() -> next.exchange(request)));
+    }
+}
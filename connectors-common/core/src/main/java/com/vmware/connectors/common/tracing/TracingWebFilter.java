@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Starts a server span for each inbound request, continuing the caller's trace when it sends
+ * a traceparent header, and puts it in the subscriber context. The span is named after the
+ * method and matched route once the request has been handled.
+ */
+public class TracingWebFilter implements WebFilter {
+
+    private final Tracing tracing;
+
+    public TracingWebFilter(Tracing tracing) {
+        this.tracing = tracing;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String method = exchange.getRequest().getMethodValue();
+        Optional<Span> started = tracing.startServerSpan(method,
+                exchange.getRequest().getHeaders().getFirst(Tracing.TRACEPARENT_HEADER));
+        if (started.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        Span span = started.get();
+        return chain.filter(exchange)
+                .doOnError(span::setError)
+                .doFinally(signal -> end(span, exchange))
+                .subscriberContext(context -> context.put(Span.class, span));
+    }
+
+    private static void end(Span span, ServerWebExchange exchange) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? exchange.getRequest().getPath().value() : pattern.getPatternString();
+        span.setName(exchange.getRequest().getMethodValue() + " " + route);
+        span.setAttribute("http.route", route);
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        span.setAttribute("http.status_code", status == null ? HttpStatus.OK.value() : status.value());
+        span.end();
+    }
+}
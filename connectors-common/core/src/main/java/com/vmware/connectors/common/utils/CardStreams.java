@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.tracing.Span;
+import com.vmware.connectors.common.tracing.Tracing;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Opt-in streaming of card responses, for clients that would rather get each card as soon as
+ * it is ready than wait for the whole inbox. Cards stays the default; a connector adds a second
+ * handler for the same path that produces the streaming types:
+ * <pre>
+ *     &#64;PostMapping(path = "/cards/requests", produces = {APPLICATION_NDJSON_VALUE, TEXT_EVENT_STREAM_VALUE})
+ *     public Flux&lt;Card&gt; streamCards(...) {
+ *         return fetchCards(...).as(CardStreams::stream);
+ *     }
+ * </pre>
+ * With application/x-ndjson, each card is written as one line of JSON; with text/event-stream,
+ * as one server-sent event.
+ */
+public final class CardStreams {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+
+    private CardStreams() {
+        // Do not construct
+    }
+
+    /**
+     * Streams cards until they are all sent or the request's Deadline arrives, whichever is first.
+     * Traced as cardAssembly, like {@link Reactive#collectCards}. It is not in the Server-Timing header,
+     * which is sent with the first card.
+     *
+     * @param cards the cards, typically one per backend item
+     * @return the cards to send
+     */
+    public static Flux<Card> stream(Flux<Card> cards) {
+        return Mono.subscriberContext()
+                .flatMapMany(context -> {
+                    Optional<Span> span = Tracing.current(context)
+                            .map(parent -> parent.child("cardAssembly", Span.Kind.INTERNAL));
+                    return Reactive.untilDeadline(cards, context, () -> { })
+                            .doOnError(throwable -> span.ifPresent(s -> s.setError(throwable)))
+                            .doFinally(signal -> span.ifPresent(Span::end))
+                            .subscriberContext(ctx -> span.map(s -> ctx.put(Span.class, s)).orElse(ctx));
+                });
+    }
+
+    /**
+     * Spring 5.2 only streams application/stream+json; this encoder writes application/x-ndjson
+     * element by element, with a newline after each.
+     *
+     * @param objectMapper the application's ObjectMapper
+     * @return the encoder, to register as a custom codec
+     */
+    public static Jackson2JsonEncoder ndjsonEncoder(ObjectMapper objectMapper) {
+        Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper, APPLICATION_NDJSON);
+        encoder.setStreamingMediaTypes(List.of(APPLICATION_NDJSON));
+        return encoder;
+    }
+}
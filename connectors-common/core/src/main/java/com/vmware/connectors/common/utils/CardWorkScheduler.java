@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import reactor.core.scheduler.NonBlocking;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded scheduler for CPU-heavy card work (parsing HTML, large JsonPath evaluations, building
+ * many cards) that would otherwise hold up a Netty event loop:
+ * <pre>
+ *     Mono.fromCallable(() -&gt; HtmlToPlainTextConverter.convert(html))
+ *             .subscribeOn(cardWorkScheduler)
+ * </pre>
+ * Its threads are marked non-blocking, like Reactor's parallel scheduler, so blocking I/O (files,
+ * classpath resources) belongs on Schedulers.boundedElastic() instead. When the queue is full, new work
+ * is rejected with a RejectedExecutionException rather than run on the caller's event loop.
+ * Queue size, active threads and task timings are published as executor metrics named card-work.
+ */
+public final class CardWorkScheduler {
+
+    public static final String NAME = "card-work";
+
+    private CardWorkScheduler() {
+        // Do not construct
+    }
+
+    public static Scheduler create(int threads, int queueCapacity, MeterRegistry registry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CardWorkThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(registry, executor, NAME, Collections.emptyList());
+        return Schedulers.fromExecutorService(monitored, NAME);
+    }
+
+    private static class CardWorkThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new CardWorkThread(runnable, NAME + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static class CardWorkThread extends Thread implements NonBlocking {
+        CardWorkThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
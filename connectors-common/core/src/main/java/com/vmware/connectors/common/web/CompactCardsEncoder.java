@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.payloads.response.CardsModule;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.COMPACT_PROFILE;
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.PROFILE_PARAMETER;
+
+/**
+ * Writes {@link Cards} in the compact profile when the client accepts
+ * {@code application/json;profile=compact}. Anything else is left to the regular JSON encoder.
+ * The ObjectMapper needs {@link CardsModule} registered; without it the standard profile is written.
+ */
+public class CompactCardsEncoder extends Jackson2JsonEncoder {
+
+    public CompactCardsEncoder(ObjectMapper objectMapper) {
+        super(objectMapper, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return isCompact(mimeType)
+                && Cards.class.isAssignableFrom(elementType.toClass())
+                && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
+                                           ResolvableType elementType, @Nullable Map<String, Object> hints) {
+        return super.customizeWriter(writer, mimeType, elementType, hints)
+                .withAttribute(CardsModule.COMPACT, Boolean.TRUE);
+    }
+
+    static boolean isCompact(@Nullable MimeType mimeType) {
+        return mimeType != null && COMPACT_PROFILE.equals(mimeType.getParameter(PROFILE_PARAMETER));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+/**
+ * Binary alternatives to JSON that connectors can offer on their card and action endpoints, by adding
+ * them to the mapping's produces list after application/json (which stays the default):
+ * <pre>
+ *     &#64;PostMapping(path = "/cards/requests", produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+ * </pre>
+ * Both are written by Jackson with the application's ObjectMapper settings, so the content is the same as the JSON.
+ * <p>
+ * Clients can also ask for the compact card profile (see CardsModule) by accepting
+ * {@code application/json;profile=compact}. This needs no change to the mapping.
+ */
+public final class ConnectorMediaTypes {
+
+    public static final String PROFILE_PARAMETER = "profile";
+    public static final String COMPACT_PROFILE = "compact";
+
+    public static final MediaType APPLICATION_JSON_COMPACT =
+            new MediaType(MediaType.APPLICATION_JSON, Map.of(PROFILE_PARAMETER, COMPACT_PROFILE));
+
+    public static final String APPLICATION_CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private ConnectorMediaTypes() {
+        // Do not construct
+    }
+}
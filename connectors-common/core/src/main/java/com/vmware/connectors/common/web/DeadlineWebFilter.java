@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.vmware.connectors.common.http.Deadline;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Puts a {@link Deadline} in the subscriber context of every request that has a timeout, either from the
+ * X-Request-Timeout header (in milliseconds) or the configured default. The header can shorten the
+ * default but not extend it, and is capped at the maximum when there is no default; a header that is
+ * not a positive number is ignored.
+ * <p>
+ * The deadline is set {@code reserve} before the timeout, leaving time to send what has been built so far.
+ */
+public class DeadlineWebFilter implements WebFilter {
+
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final Duration DEFAULT_MAX_TIMEOUT = Duration.ofMinutes(5);
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Duration reserve;
+
+    /**
+     * @param defaultTimeout timeout of requests without the header, or null for none
+     * @param reserve time to keep back from the timeout for writing the response
+     */
+    public DeadlineWebFilter(Duration defaultTimeout, Duration reserve) {
+        this(defaultTimeout, DEFAULT_MAX_TIMEOUT, reserve);
+    }
+
+    /**
+     * @param defaultTimeout timeout of requests without the header, or null for none
+     * @param maxTimeout the longest timeout the header can set
+     * @param reserve time to keep back from the timeout for writing the response
+     */
+    public DeadlineWebFilter(Duration defaultTimeout, Duration maxTimeout, Duration reserve) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = defaultTimeout != null && defaultTimeout.compareTo(maxTimeout) < 0 ? defaultTimeout : maxTimeout;
+        this.reserve = reserve;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Duration timeout = timeout(exchange);
+        if (timeout == null) {
+            return chain.filter(exchange);
+        }
+        // A timeout shorter than the reserve leaves no time for backend calls at all
+        Deadline deadline = Deadline.after(timeout.compareTo(reserve) > 0 ? timeout.minus(reserve) : Duration.ZERO);
+        return chain.filter(exchange)
+                .subscriberContext(context -> context.put(Deadline.class, deadline));
+    }
+
+    private Duration timeout(ServerWebExchange exchange) {
+        long millis = NumberUtils.toLong(exchange.getRequest().getHeaders().getFirst(REQUEST_TIMEOUT_HEADER), -1);
+        if (millis <= 0) {
+            return defaultTimeout;
+        }
+        // Compared as millis, since a huge header would overflow as a Duration in nanos
+        return millis < maxTimeout.toMillis() ? Duration.ofMillis(millis) : maxTimeout;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts the inbound {@link ServerWebExchange} in the subscriber context, under the ServerWebExchange class,
+ * so that outbound calls made on behalf of the request can see it. The circuit breaker keys on its
+ * X-Connector-Base-Url, the call budget counts per exchange, and Reactive sets the MDC from it.
+ */
+public class ExchangeContextWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                .subscriberContext(context -> context.put(ServerWebExchange.class, exchange));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Collects {@link ServerTimings} for a request and adds them to its response as a Server-Timing header.
+ * <p>
+ * Depending on the mode, this is done for every request or only for those that ask for it
+ * with an X-Server-Timing: true header.
+ */
+public class ServerTimingWebFilter implements WebFilter {
+
+    public static final String DEBUG_HEADER = "X-Server-Timing";
+
+    public enum Mode {
+        NEVER, ON_REQUEST, ALWAYS
+    }
+
+    private final Mode mode;
+
+    public ServerTimingWebFilter(Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!isTimed(exchange)) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        ServerTimings timings = new ServerTimings();
+        exchange.getResponse().beforeCommit(() -> {
+            timings.record("total", Duration.ofNanos(System.nanoTime() - start));
+            exchange.getResponse().getHeaders().set(ServerTimings.HEADER, timings.toHeaderValue());
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .subscriberContext(context -> context.put(ServerTimings.class, timings));
+    }
+
+    private boolean isTimed(ServerWebExchange exchange) {
+        switch (mode) {
+            case ALWAYS:
+                return true;
+            case ON_REQUEST:
+                return Boolean.parseBoolean(exchange.getRequest().getHeaders().getFirst(DEBUG_HEADER));
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Timings collected while handling one inbound request, sent back in a W3C Server-Timing header.
+ * <p>
+ * Timings of the same name are combined: the header reports the longest of them as the duration
+ * and says how many there were. While a request is being timed, its ServerTimings is in the
+ * subscriber context under the ServerTimings class; use {@link #timed(String)} to time a step.
+ */
+public class ServerTimings {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public static Optional<ServerTimings> from(Context context) {
+        return context.getOrEmpty(ServerTimings.class);
+    }
+
+    /**
+     * Times a step of the request, from subscription until it completes or fails.
+     * Does nothing when the request is not being timed.
+     * <pre>
+     *     getUser(...).transform(ServerTimings.timed("userLookup"))
+     * </pre>
+     *
+     * @param name the step's name, shown in the header
+     * @param <T> the type of the step's result
+     * @return the timing operator
+     */
+    public static <T> Function<Mono<T>, Mono<T>> timed(String name) {
+        return mono -> Mono.subscriberContext()
+                .flatMap(context -> from(context)
+                        .map(timings -> Mono.defer(() -> {
+                            long start = System.nanoTime();
+                            return mono.doFinally(signal -> timings.record(name, Duration.ofNanos(System.nanoTime() - start)));
+                        }))
+                        .orElse(mono));
+    }
+
+    public void record(String name, Duration duration) {
+        synchronized (entries) {
+            entries.computeIfAbsent(name, key -> new Entry()).add(duration.toNanos());
+        }
+    }
+
+    public String toHeaderValue() {
+        StringJoiner header = new StringJoiner(", ");
+        synchronized (entries) {
+            entries.forEach((name, entry) -> header.add(metric(name, entry)));
+        }
+        return header.toString();
+    }
+
+    private static String metric(String name, Entry entry) {
+        String token = name.replaceAll("[^A-Za-z0-9!#$%&'*+.^_`|~-]", "_");
+        StringBuilder metric = new StringBuilder(token)
+                .append(";dur=").append(millis(entry.max));
+
+        StringJoiner desc = new StringJoiner(", ");
+        if (!token.equals(name)) {
+            desc.add(name);
+        }
+        if (entry.count > 1) {
+            desc.add(entry.count + " calls, " + millis(entry.total) + "ms total");
+        }
+        if (desc.length() > 0) {
+            metric.append(";desc=\"").append(desc.toString().replaceAll("[\"\\\\]", "")).append('"');
+        }
+        return metric.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static class Entry {
+        private int count;
+        private long total;
+        private long max;
+
+        void add(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+    }
+}
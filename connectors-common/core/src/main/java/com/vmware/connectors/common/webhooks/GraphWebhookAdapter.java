@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Change notifications from Microsoft Graph subscriptions created with the shared secret as their
+ * clientState. Graph reports the resource by the user's object id (e.g. "Users/{id}/Messages/{id}"),
+ * so connectors using this adapter should include the id in their PrecomputedCards keys.
+ * <p>
+ * Graph validates the notification URL by posting a validationToken query parameter, which has to be
+ * echoed back as plain text.
+ */
+public class GraphWebhookAdapter implements WebhookAdapter {
+
+    private static final String VALIDATION_TOKEN = "validationToken";
+    private static final String USERS_SEGMENT = "users/";
+
+    private final WebhookSecret clientState;
+
+    public GraphWebhookAdapter(String clientState) {
+        this.clientState = new WebhookSecret(clientState);
+    }
+
+    @Override
+    public String source() {
+        return "graph";
+    }
+
+    @Override
+    public String validationResponse(MultiValueMap<String, String> queryParams) {
+        return queryParams.getFirst(VALIDATION_TOKEN);
+    }
+
+    @Override
+    public Set<String> affectedUsers(HttpHeaders headers, JsonNode body) {
+        Set<String> users = new LinkedHashSet<>();
+        for (JsonNode notification : body.path("value")) {
+            // Every notification carries the clientState, and a batch could mix subscriptions
+            if (!clientState.matches(notification.path("clientState").textValue())) {
+                throw new WebhookAuthenticationException("Missing or wrong clientState");
+            }
+            String user = userOf(notification.path("resource").asText());
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    private static String userOf(String resource) {
+        String path = StringUtils.removeStart(resource, "/");
+        if (!StringUtils.startsWithIgnoreCase(path, USERS_SEGMENT)) {
+            return null;
+        }
+        String user = StringUtils.substringBefore(path.substring(USERS_SEGMENT.length()), "/");
+        return StringUtils.defaultIfBlank(user, null);
+    }
+}
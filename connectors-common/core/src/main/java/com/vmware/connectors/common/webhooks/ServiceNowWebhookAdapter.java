@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Notifications from a ServiceNow business rule on sysapproval_approver, sent as an outbound REST
+ * message with the shared secret in the X-Connector-Webhook-Secret header. The body is the approval
+ * record, or an array of them, with at least the approver's email:
+ * <pre>
+ *     {"sys_id": "...", "state": "approved", "approver_email": "jdoe@example.com"}
+ * </pre>
+ */
+public class ServiceNowWebhookAdapter implements WebhookAdapter {
+
+    public static final String SECRET_HEADER = "X-Connector-Webhook-Secret";
+
+    private static final String APPROVER_EMAIL = "approver_email";
+
+    private final WebhookSecret secret;
+
+    public ServiceNowWebhookAdapter(String secret) {
+        this.secret = new WebhookSecret(secret);
+    }
+
+    @Override
+    public String source() {
+        return "servicenow";
+    }
+
+    @Override
+    public Set<String> affectedUsers(HttpHeaders headers, JsonNode body) {
+        if (!secret.matches(headers.getFirst(SECRET_HEADER))) {
+            throw new WebhookAuthenticationException("Missing or wrong " + SECRET_HEADER);
+        }
+        Set<String> users = new LinkedHashSet<>();
+        if (body.isArray()) {
+            body.forEach(record -> addApprover(record, users));
+        } else {
+            addApprover(body, users);
+        }
+        return users;
+    }
+
+    private static void addApprover(JsonNode record, Set<String> users) {
+        String email = record.path(APPROVER_EMAIL).asText();
+        if (StringUtils.isNotBlank(email)) {
+            users.add(email);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Set;
+
+/**
+ * Turns a backend's change notifications into the users whose cards may have changed, so that only
+ * their precomputed cards are dropped. One adapter per backend, received at /webhooks/{source}.
+ */
+public interface WebhookAdapter {
+
+    /**
+     * @return the path segment the backend posts to, e.g. "servicenow"
+     */
+    String source();
+
+    /**
+     * Some backends check the endpoint with a handshake before sending any notifications.
+     *
+     * @param queryParams the query parameters of the request
+     * @return the plain text to echo back for a handshake, or null if the request is a notification
+     */
+    default String validationResponse(MultiValueMap<String, String> queryParams) {
+        return null;
+    }
+
+    /**
+     * Authenticate the notification and work out who it affects.
+     *
+     * @param headers the request headers
+     * @param body the request body
+     * @return the affected users, as they appear in the PrecomputedCards keys
+     * @throws WebhookAuthenticationException if the notification is not from the backend
+     */
+    Set<String> affectedUsers(HttpHeaders headers, JsonNode body);
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+/**
+ * Thrown by a {@link WebhookAdapter} when a notification does not carry the backend's shared secret.
+ */
+public class WebhookAuthenticationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WebhookAuthenticationException(String message) {
+        super(message);
+    }
+}
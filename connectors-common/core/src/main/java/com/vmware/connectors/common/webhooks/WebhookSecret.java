@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * A shared secret, compared in constant time.
+ */
+final class WebhookSecret {
+
+    private final byte[] secret;
+
+    WebhookSecret(String secret) {
+        if (StringUtils.isBlank(secret)) {
+            throw new IllegalArgumentException("Webhook secret must not be blank");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    boolean matches(String candidate) {
+        return candidate != null && MessageDigest.isEqual(secret, candidate.getBytes(StandardCharsets.UTF_8));
+    }
+}
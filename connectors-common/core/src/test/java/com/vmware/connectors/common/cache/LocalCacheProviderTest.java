@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalCacheProviderTest {
+
+    private final LocalCacheProvider provider = new LocalCacheProvider();
+
+    @Test
+    void putGetInvalidate() {
+        ConnectorCache<String> cache = provider.getCache("identity", String.class, Duration.ofMinutes(1), 10);
+
+        cache.put("jdoe@example.com", "1234").block();
+        assertEquals("1234", cache.get("jdoe@example.com").block());
+
+        cache.invalidate("jdoe@example.com").block();
+        assertNull(cache.get("jdoe@example.com").block());
+    }
+
+    @Test
+    void cachesAreByName() {
+        ConnectorCache<String> identity = provider.getCache("identity", String.class, Duration.ofMinutes(1), 10);
+        ConnectorCache<String> responses = provider.getCache("responses", String.class, Duration.ofMinutes(1), 10);
+
+        identity.put("key", "identity").block();
+
+        assertNull(responses.get("key").block());
+        assertSame(identity, provider.getCache("identity", String.class, Duration.ofMinutes(1), 10));
+    }
+
+    @Test
+    void sameNameWithOtherSettingsIsRejected() {
+        provider.getCache("identity", String.class, Duration.ofMinutes(1), 10);
+
+        assertThrows(IllegalArgumentException.class, () -> provider.getCache("identity", Integer.class, Duration.ofMinutes(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> provider.getCache("identity", String.class, Duration.ofHours(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> provider.getCache("identity", String.class, Duration.ofMinutes(1), 100));
+    }
+}
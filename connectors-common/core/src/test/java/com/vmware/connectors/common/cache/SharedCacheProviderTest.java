@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.Cards;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedCacheProviderTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final InMemoryCacheStore store = new InMemoryCacheStore(now::get);
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper json = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void replicasShareValues() throws Exception {
+        ConnectorCache<Cards> first = replica().getCache("cards", Cards.class, Duration.ofMinutes(1), 10);
+        ConnectorCache<Cards> second = replica().getCache("cards", Cards.class, Duration.ofMinutes(1), 10);
+        Cards cards = cards();
+
+        first.put("jdoe@example.com", cards).block();
+        Cards fromOtherReplica = second.get("jdoe@example.com").block();
+
+        assertEquals(json.writeValueAsString(cards), json.writeValueAsString(fromOtherReplica));
+
+        second.invalidate("jdoe@example.com").block();
+        assertNull(first.get("jdoe@example.com").block());
+    }
+
+    @Test
+    void valuesAreCompactBinary() throws Exception {
+        Cards cards = cards();
+        replica().getCache("cards", Cards.class, Duration.ofMinutes(1), 10).put("jdoe@example.com", cards).block();
+
+        byte[] stored = store.get("test:cards:jdoe@example.com").block();
+
+        assertTrue(stored.length < json.writeValueAsBytes(cards).length);
+    }
+
+    @Test
+    void valuesExpire() {
+        ConnectorCache<String> cache = replica().getCache("identity", String.class, Duration.ofMinutes(1), 10);
+        cache.put("jdoe@example.com", "1234").block();
+
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertEquals("1234", cache.get("jdoe@example.com").block());
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get("jdoe@example.com").block());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void cachesAreByName() {
+        SharedCacheProvider provider = replica();
+        provider.getCache("identity", String.class, Duration.ofMinutes(1), 10).put("key", "identity").block();
+
+        assertNull(provider.getCache("responses", String.class, Duration.ofMinutes(1), 10).get("key").block());
+    }
+
+    @Test
+    void sameNameWithOtherSettingsIsRejected() {
+        SharedCacheProvider provider = replica();
+        provider.getCache("cards", Cards.class, Duration.ofMinutes(1), 10);
+
+        assertThrows(IllegalArgumentException.class, () -> provider.getCache("cards", String.class, Duration.ofMinutes(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> provider.getCache("cards", Cards.class, Duration.ofHours(1), 10));
+    }
+
+    @Test
+    void undeserializableValueIsAMiss() {
+        store.set("test:cards:jdoe@example.com", "not smile".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(1)).block();
+
+        assertNull(replica().getCache("cards", Cards.class, Duration.ofMinutes(1), 10).get("jdoe@example.com").block());
+    }
+
+    private SharedCacheProvider replica() {
+        return new SharedCacheProvider(store, smile, "test:");
+    }
+
+    private static Cards cards() {
+        Cards cards = new Cards();
+        for (int i = 0; i < 3; i++) {
+            cards.getCards().add(new Card.Builder()
+                    .setName("Approval " + i)
+                    .setHeader("Purchase request " + i, "Requested by jdoe@example.com")
+                    .setCreationDate(OffsetDateTime.parse("2021-03-31T09:00:00Z"))
+                    .build());
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BackendCallTest {
+
+    @Test
+    void namedCall() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://backend/api/users?email=a@b.com"))
+                .attributes(BackendCall.named("userLookup"))
+                .build();
+
+        assertEquals("userLookup", BackendCall.nameOf(request));
+    }
+
+    @Test
+    void unnamedCall() {
+        ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("https://backend/api/approve/123?x=y"))
+                .build();
+
+        assertEquals("POST /api/approve/123", BackendCall.nameOf(request));
+    }
+
+    @Test
+    void templatePath() {
+        assertEquals("/api/users", BackendCall.templatePath("https://acme.coupahost.com/api/users?email={userEmail}"));
+        assertEquals("/api/requisitions/{id}", BackendCall.templatePath("http://localhost:1234/api/requisitions/{id}"));
+        assertEquals("/", BackendCall.templatePath("https://acme.coupahost.com"));
+        assertEquals("{baseUrl}/api/users", BackendCall.templatePath("{baseUrl}/api/users?email={email}"));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.web.ExchangeContextWebFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.BACKEND_BUDGET_EXCEEDED;
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.ENDPOINT_TAG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+class CallBudgetExchangeFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CallBudget budget = new CallBudget(0).withLimit("detail", 2);
+
+    private MockWebServer backend;
+
+    @BeforeEach
+    void setup() throws IOException {
+        backend = new MockWebServer();
+        backend.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("ok");
+            }
+        });
+        backend.start();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        backend.shutdown();
+    }
+
+    @Test
+    void withinBudget() {
+        client(CallBudgetExchangeFilter.Action.FAIL).get().uri("/cards?calls=2&endpoint=detail")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("2");
+
+        assertEquals(2, backend.getRequestCount());
+        assertNull(registry.find(BACKEND_BUDGET_EXCEEDED).counter());
+    }
+
+    @Test
+    void warnsOnceWhenExceeded() {
+        client(CallBudgetExchangeFilter.Action.WARN).get().uri("/cards?calls=5&endpoint=detail")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(5, backend.getRequestCount());
+        assertEquals(1, registry.get(BACKEND_BUDGET_EXCEEDED).tag(ENDPOINT_TAG, "detail").counter().count());
+    }
+
+    @Test
+    void failsWhenEnforced() {
+        client(CallBudgetExchangeFilter.Action.FAIL).get().uri("/cards?calls=3&endpoint=detail")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        assertEquals(2, backend.getRequestCount());
+    }
+
+    @Test
+    void countsPerInboundRequest() {
+        WebTestClient client = client(CallBudgetExchangeFilter.Action.FAIL);
+        client.get().uri("/cards?calls=2&endpoint=detail").exchange().expectStatus().isOk();
+        client.get().uri("/cards?calls=2&endpoint=detail").exchange().expectStatus().isOk();
+
+        assertEquals(4, backend.getRequestCount());
+    }
+
+    @Test
+    void ignoresEndpointsWithoutLimit() {
+        client(CallBudgetExchangeFilter.Action.FAIL).get().uri("/cards?calls=10&endpoint=approvals")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(10, backend.getRequestCount());
+    }
+
+    private WebTestClient client(CallBudgetExchangeFilter.Action action) {
+        WebClient rest = WebClient.builder()
+                .filter(new CallBudgetExchangeFilter(budget, action, registry))
+                .build();
+        return WebTestClient.bindToRouterFunction(RouterFunctions.route(GET("/cards"), request -> callBackend(rest, request)))
+                .webFilter(new ExchangeContextWebFilter())
+                .build();
+    }
+
+    // Calls the backend one item at a time, as a connector with an N+1 problem would
+    private Mono<ServerResponse> callBackend(WebClient rest, ServerRequest request) {
+        int calls = Integer.parseInt(request.queryParam("calls").orElseThrow());
+        String endpoint = request.queryParam("endpoint").orElseThrow();
+        return Flux.range(0, calls)
+                .concatMap(i -> rest.get()
+                        .uri(backend.url("/api/" + endpoint + "/" + i).uri())
+                        .attributes(BackendCall.named(endpoint))
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .count()
+                .flatMap(count -> ServerResponse.ok().bodyValue(String.valueOf(count)));
+    }
+}
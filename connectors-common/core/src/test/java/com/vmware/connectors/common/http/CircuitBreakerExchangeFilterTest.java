@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.web.ExchangeContextWebFilter;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vmware.connectors.common.http.TenantKey.BASE_URL_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+class CircuitBreakerExchangeFilterTest {
+
+    private static final String TENANT = "https://tenant-a.example.com";
+    private static final String OTHER_TENANT = "https://tenant-b.example.com";
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger backendStatus = new AtomicInteger(200);
+    private final CircuitBreakerRegistry registry = new CircuitBreakerRegistry(2, Duration.ofSeconds(30), now::get);
+
+    private MockWebServer backend;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        backend = new MockWebServer();
+        backend.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(backendStatus.get());
+            }
+        });
+        backend.start();
+
+        WebClient rest = WebClient.builder()
+                .filter(new CircuitBreakerExchangeFilter(registry))
+                .build();
+        client = WebTestClient.bindToRouterFunction(RouterFunctions.route(GET("/cards"), request -> callBackend(rest, request)))
+                .webFilter(new ExchangeContextWebFilter())
+                .build();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        backend.shutdown();
+    }
+
+    @Test
+    void opensAfterFailuresAndFailsFast() {
+        open(TENANT);
+
+        poll(TENANT).expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody(String.class).isEqualTo(TENANT);
+        assertEquals(2, backend.getRequestCount());
+    }
+
+    @Test
+    void halfOpenProbeClosesBreaker() {
+        open(TENANT);
+        advance(Duration.ofSeconds(30));
+        backendStatus.set(200);
+
+        poll(TENANT).expectStatus().isOk();
+        assertEquals(CircuitBreaker.State.CLOSED, registry.get(TENANT).getState());
+        poll(TENANT).expectStatus().isOk();
+        assertEquals(4, backend.getRequestCount());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        open(TENANT);
+        advance(Duration.ofSeconds(30));
+
+        poll(TENANT).expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+        poll(TENANT).expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertEquals(3, backend.getRequestCount());
+    }
+
+    @Test
+    void clientErrorsDoNotOpen() {
+        backendStatus.set(404);
+        poll(TENANT).expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+        poll(TENANT).expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+
+        assertFalse(registry.isOpen(TENANT));
+    }
+
+    @Test
+    void keyedOnInboundBaseUrl() {
+        open(TENANT);
+        backendStatus.set(200);
+
+        // Same backend origin, but another tenant as far as the inbound request is concerned
+        poll(OTHER_TENANT).expectStatus().isOk();
+        assertTrue(registry.isOpen(TENANT));
+        assertFalse(registry.isOpen(TenantKey.origin(backend.url("/").uri())));
+    }
+
+    @Test
+    void keyedOnOriginWithoutInboundBaseUrl() {
+        backendStatus.set(500);
+        client.get().uri("/cards").exchange().expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+        client.get().uri("/cards").exchange().expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+
+        assertTrue(registry.isOpen(TenantKey.origin(backend.url("/").uri())));
+    }
+
+    private void open(String tenant) {
+        backendStatus.set(500);
+        poll(tenant).expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+        poll(tenant).expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertTrue(registry.isOpen(tenant));
+    }
+
+    private WebTestClient.ResponseSpec poll(String tenant) {
+        return client.get().uri("/cards")
+                .header(BASE_URL_HEADER, tenant)
+                .exchange();
+    }
+
+    private Mono<ServerResponse> callBackend(WebClient rest, ServerRequest request) {
+        return rest.get()
+                .uri(backend.url("/api/approvals").uri())
+                .retrieve()
+                .toBodilessEntity()
+                .flatMap(entity -> ServerResponse.ok().build())
+                .onErrorResume(CircuitBreakerOpenException.class,
+                        e -> ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).bodyValue(e.getTenant()))
+                .onErrorResume(WebClientResponseException.class,
+                        e -> ServerResponse.status(HttpStatus.BAD_GATEWAY).build());
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vmware.connectors.common.http.CircuitBreaker.State.CLOSED;
+import static com.vmware.connectors.common.http.CircuitBreaker.State.HALF_OPEN;
+import static com.vmware.connectors.common.http.CircuitBreaker.State.OPEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        breaker = new CircuitBreaker(3, Duration.ofSeconds(30), now::get);
+    }
+
+    @Test
+    void staysClosedBelowThreshold() {
+        fail(2);
+        acquire().onSuccess();
+        fail(2);
+
+        assertEquals(CLOSED, breaker.getState());
+        assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        fail(3);
+
+        assertEquals(OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(30), breaker.getRetryAfter());
+    }
+
+    @Test
+    void allowsSingleProbeWhenHalfOpen() {
+        fail(3);
+        advance(Duration.ofSeconds(30));
+
+        assertNotNull(breaker.tryAcquire());
+        assertEquals(HALF_OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void successfulProbeCloses() {
+        fail(3);
+        advance(Duration.ofSeconds(31));
+
+        acquire().onSuccess();
+
+        assertEquals(CLOSED, breaker.getState());
+        assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        fail(3);
+        advance(Duration.ofSeconds(31));
+
+        acquire().onFailure();
+
+        assertEquals(OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void cancelledProbeFreesSlot() {
+        fail(3);
+        advance(Duration.ofSeconds(31));
+
+        acquire().onCancel();
+
+        assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void lateSuccessDoesNotCloseOpenBreaker() {
+        CircuitBreaker.Permit slow = acquire();
+        fail(3);
+
+        slow.onSuccess();
+
+        assertEquals(OPEN, breaker.getState());
+        assertNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void lateFailuresDoNotKeepBreakerOpen() {
+        CircuitBreaker.Permit slow = acquire();
+        fail(3);
+        advance(Duration.ofSeconds(20));
+
+        slow.onFailure();
+
+        assertEquals(Duration.ofSeconds(10), breaker.getRetryAfter());
+        advance(Duration.ofSeconds(10));
+        assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void onlyTheProbeDecidesWhenHalfOpen() {
+        CircuitBreaker.Permit slowSuccess = acquire();
+        CircuitBreaker.Permit slowFailure = acquire();
+        fail(3);
+        advance(Duration.ofSeconds(31));
+        CircuitBreaker.Permit probe = acquire();
+
+        slowFailure.onFailure();
+        slowSuccess.onSuccess();
+
+        assertEquals(HALF_OPEN, breaker.getState());
+        // The probe is still in flight
+        assertNull(breaker.tryAcquire());
+
+        probe.onSuccess();
+        assertEquals(CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failuresBeforeClosingDoNotCount() {
+        CircuitBreaker.Permit slow = acquire();
+        fail(3);
+        advance(Duration.ofSeconds(31));
+        acquire().onSuccess();
+
+        slow.onFailure();
+        fail(2);
+
+        assertEquals(CLOSED, breaker.getState());
+    }
+
+    private CircuitBreaker.Permit acquire() {
+        CircuitBreaker.Permit permit = breaker.tryAcquire();
+        assertNotNull(permit);
+        return permit;
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            acquire().onFailure();
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionPrewarmerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final WebClient client = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request);
+                if (request.url().getHost().equals("down.example.com")) {
+                    return Mono.error(new ConnectException("Connection refused"));
+                }
+                return Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build());
+            })
+            .build();
+
+    @Test
+    void recentBackendsAreWarmedOncePerOrigin() {
+        ConnectionPrewarmer prewarmer = prewarmer(null);
+        prewarmer.called(URI.create("https://acme.service-now.com/api/now/table/sysapproval_approver?sysparm_limit=10"));
+        prewarmer.called(URI.create("https://acme.service-now.com/api/now/table/sc_request"));
+        prewarmer.called(URI.create("https://graph.microsoft.com/v1.0/me"));
+
+        prewarmer.prewarm().block();
+
+        assertEquals(Set.of("https://acme.service-now.com/", "https://graph.microsoft.com/"), urls());
+        assertEquals(Set.of(HttpMethod.HEAD), requests.stream().map(ClientRequest::method).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void idleBackendsAreForgotten() {
+        ConnectionPrewarmer prewarmer = prewarmer(null);
+        prewarmer.called(URI.create("https://old.example.com/api"));
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        prewarmer.called(URI.create("https://new.example.com/api"));
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        prewarmer.prewarm().block();
+
+        assertEquals(Set.of("https://new.example.com/"), urls());
+    }
+
+    @Test
+    void failuresAreIgnored() {
+        ConnectionPrewarmer prewarmer = prewarmer(null);
+        prewarmer.add(List.of("https://down.example.com", "https://up.example.com", " "));
+
+        prewarmer.prewarm().block();
+
+        assertEquals(Set.of("https://down.example.com/", "https://up.example.com/"), urls());
+    }
+
+    @Test
+    void backendsAreRememberedAcrossRestarts(@TempDir Path dir) {
+        Path file = dir.resolve("backends.txt");
+        ConnectionPrewarmer before = prewarmer(file);
+        before.called(URI.create("https://acme.service-now.com/api"));
+        before.stop();
+
+        ConnectionPrewarmer after = prewarmer(file);
+        after.start();
+        after.stop();
+
+        assertEquals(List.of("https://acme.service-now.com"), after.backends());
+    }
+
+    private ConnectionPrewarmer prewarmer(Path file) {
+        return new ConnectionPrewarmer(client, Duration.ofMinutes(15), 100, Duration.ofHours(1), file, now::get);
+    }
+
+    private Set<String> urls() {
+        return requests.stream()
+                .map(request -> request.url().toString())
+                .collect(Collectors.toSet());
+    }
+}
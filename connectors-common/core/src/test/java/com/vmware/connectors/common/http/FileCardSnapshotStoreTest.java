@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.CardAction;
+import com.vmware.connectors.common.payloads.response.CardActionKey;
+import com.vmware.connectors.common.payloads.response.Cards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FileCardSnapshotStoreTest {
+
+    private static final Instant SAVED_AT = Instant.parse("2021-04-01T10:00:00Z");
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void roundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("snapshots/cards.json.gz");
+        Cards cards = cards("approve me");
+
+        store(file, SAVED_AT).save(Map.of("https://backend|jdoe@example.com", new CardSnapshot(cards, Duration.ofSeconds(20))));
+        Map<String, CardSnapshot> loaded = store(file, SAVED_AT.plusSeconds(40)).load();
+
+        CardSnapshot snapshot = loaded.get("https://backend|jdoe@example.com");
+        assertEquals(1, loaded.size());
+        assertEquals(Duration.ofMinutes(1), snapshot.getAge());
+        assertEquals(mapper.writeValueAsString(cards), mapper.writeValueAsString(snapshot.getCards()));
+        assertEquals(cards.getCards().get(0).getHash(), snapshot.getCards().getCards().get(0).getHash());
+    }
+
+    @Test
+    void saveReplacesEarlierSnapshots(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("cards.json.gz");
+        FileCardSnapshotStore store = store(file, SAVED_AT);
+
+        store.save(Map.of("first", new CardSnapshot(cards("1"), Duration.ZERO)));
+        store.save(Map.of("second", new CardSnapshot(cards("2"), Duration.ZERO)));
+
+        assertEquals(Map.of("second", "2"), names(store.load()));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void onlyTheOwnerCanReadTheFile(@TempDir Path dir) throws IOException {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path file = dir.resolve("cards.json.gz");
+
+        store(file, SAVED_AT).save(Map.of("first", new CardSnapshot(cards("1"), Duration.ZERO)));
+
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+    }
+
+    @Test
+    void nothingSavedYet(@TempDir Path dir) throws IOException {
+        assertTrue(store(dir.resolve("cards.json.gz"), SAVED_AT).load().isEmpty());
+    }
+
+    @Test
+    void restoredIntoPrecomputedCards(@TempDir Path dir) throws IOException {
+        FileCardSnapshotStore store = store(dir.resolve("cards.json.gz"), SAVED_AT);
+        store.save(Map.of(
+                "recent", new CardSnapshot(cards("recent"), Duration.ofMinutes(1)),
+                "old", new CardSnapshot(cards("old"), Duration.ofMinutes(10))));
+
+        PrecomputedCards precomputedCards = new PrecomputedCards(
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofHours(1), 100,
+                new SimpleMeterRegistry());
+
+        assertEquals(1, precomputedCards.restore(store.load()));
+        assertEquals(Map.of("recent", "recent"), names(precomputedCards.snapshot()));
+        assertFalse(precomputedCards.snapshot().containsKey("old"));
+    }
+
+    private FileCardSnapshotStore store(Path file, Instant now) {
+        return new FileCardSnapshotStore(file, mapper, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static Map<String, String> names(Map<String, CardSnapshot> snapshots) {
+        Map<String, String> names = new HashMap<>();
+        snapshots.forEach((key, snapshot) -> names.put(key, snapshot.getCards().getCards().get(0).getName()));
+        return names;
+    }
+
+    private static Cards cards(String name) {
+        Cards cards = new Cards();
+        cards.getCards().add(new Card.Builder()
+                .setName(name)
+                .setHeader("Approval request")
+                .setCreationDate(OffsetDateTime.parse("2021-03-31T09:00:00Z"))
+                .addAction(new CardAction.Builder()
+                        .setLabel("Approve")
+                        .setType(HttpMethod.POST)
+                        .setActionKey(CardActionKey.DIRECT)
+                        .setUrl("/api/approve/1")
+                        .addRequestParam("id", "1")
+                        .build())
+                .build());
+        return cards;
+    }
+}
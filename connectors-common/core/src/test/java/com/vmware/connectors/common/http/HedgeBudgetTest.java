@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgeBudgetTest {
+
+    @Test
+    void earnsOneHedgePerTenRequests() {
+        HedgeBudget budget = new HedgeBudget(0.1, 5);
+        assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryAcquire());
+
+        budget.onRequest();
+        budget.onRequest();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void burstIsCapped() {
+        HedgeBudget budget = new HedgeBudget(1, 2);
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+}
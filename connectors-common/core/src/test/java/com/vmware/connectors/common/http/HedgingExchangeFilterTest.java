@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingExchangeFilterTest {
+
+    private static final ClientRequest REQUEST = ClientRequest.create(HttpMethod.GET, URI.create("https://backend/api/approvals"))
+            .build();
+
+    private static final String RECORDER_KEY = "https://backend GET /api/approvals";
+
+    private final List<ClientRequest> calls = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+    @Test
+    void slowPrimaryLosesToHedgeAndIsCancelled() {
+        HedgingExchangeFilter filter = warmedUp(new HedgeBudget(1, 10));
+        List<Supplier<Mono<ClientResponse>>> legs = List.of(
+                () -> response("primary").delaySubscription(Duration.ofSeconds(5)).doOnCancel(() -> primaryCancelled.set(true)),
+                () -> response("hedge")
+        );
+
+        assertEquals("hedge", body(filter.filter(REQUEST, backend(legs))));
+        // Cancelling the exchange releases its connection
+        assertTrue(primaryCancelled.get());
+        // The cancelled primary is sampled with the time it had taken, at least the hedge delay
+        assertTrue(filter.recorder(RECORDER_KEY).percentile(100).get().compareTo(Duration.ofMillis(100)) >= 0);
+    }
+
+    @Test
+    void noHedgeWhenBudgetIsExhausted() {
+        HedgingExchangeFilter filter = warmedUp(new HedgeBudget(0, 10));
+        List<Supplier<Mono<ClientResponse>>> legs = List.of(
+                () -> response("primary").delaySubscription(Duration.ofMillis(300)),
+                () -> response("hedge")
+        );
+
+        assertEquals("primary", body(filter.filter(REQUEST, backend(legs))));
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void failedHedgeDoesNotFailTheCall() {
+        HedgingExchangeFilter filter = warmedUp(new HedgeBudget(1, 10));
+        List<Supplier<Mono<ClientResponse>>> legs = List.of(
+                () -> response("primary").delaySubscription(Duration.ofMillis(300)),
+                () -> Mono.error(new IOException("Connection reset"))
+        );
+
+        assertEquals("primary", body(filter.filter(REQUEST, backend(legs))));
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void postsAreNotHedged() {
+        HedgingExchangeFilter filter = warmedUp(new HedgeBudget(1, 10));
+        ClientRequest post = ClientRequest.create(HttpMethod.POST, URI.create("https://backend/api/approvals")).build();
+        List<Supplier<Mono<ClientResponse>>> legs = List.of(
+                () -> response("primary").delaySubscription(Duration.ofMillis(300)),
+                () -> response("hedge")
+        );
+
+        assertEquals("primary", body(filter.filter(post, backend(legs))));
+        assertEquals(1, calls.size());
+    }
+
+    private ExchangeFunction backend(List<Supplier<Mono<ClientResponse>>> legs) {
+        return request -> Mono.defer(() -> {
+            calls.add(request);
+            return legs.get(calls.size() - 1).get();
+        });
+    }
+
+    // Hedges after 100ms, since the recorded latencies are below the minimum delay
+    private static HedgingExchangeFilter warmedUp(HedgeBudget budget) {
+        HedgingExchangeFilter filter = new HedgingExchangeFilter(95, Duration.ofMillis(100), 3, budget);
+        for (int i = 0; i < 3; i++) {
+            filter.recorder(RECORDER_KEY).record(Duration.ofMillis(20));
+        }
+        return filter;
+    }
+
+    private static Mono<ClientResponse> response(String body) {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK).body(body).build());
+    }
+
+    private static String body(Mono<ClientResponse> response) {
+        return response.flatMap(r -> r.bodyToMono(String.class)).block(Duration.ofSeconds(10));
+    }
+}
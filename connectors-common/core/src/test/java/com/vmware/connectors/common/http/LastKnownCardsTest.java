@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.cache.ConnectorCache;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.Cards;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LastKnownCardsTest {
+
+    private static final String KEY = "https://backend|jdoe@example.com";
+
+    private final LastKnownCards lastKnownCards = new LastKnownCards(Duration.ofHours(1), 100);
+
+    @Test
+    void servesLastCardsWhileBreakerIsOpen() {
+        cards("1").transform(lastKnownCards.fallback(KEY)).block();
+
+        Cards fallback = breakerOpen().transform(lastKnownCards.fallback(KEY)).block();
+
+        assertEquals("1", fallback.getCards().get(0).getName());
+    }
+
+    @Test
+    void servesLatestCards() {
+        cards("1").transform(lastKnownCards.fallback(KEY)).block();
+        cards("2").transform(lastKnownCards.fallback(KEY)).block();
+
+        assertEquals("2", breakerOpen().transform(lastKnownCards.fallback(KEY)).block().getCards().get(0).getName());
+    }
+
+    @Test
+    void failsWithoutLastCards() {
+        cards("1").transform(lastKnownCards.fallback("https://backend|other@example.com")).block();
+
+        Mono<Cards> fallback = breakerOpen().transform(lastKnownCards.fallback(KEY));
+
+        assertThrows(CircuitBreakerOpenException.class, fallback::block);
+    }
+
+    @Test
+    void otherErrorsAreNotMasked() {
+        cards("1").transform(lastKnownCards.fallback(KEY)).block();
+
+        Mono<Cards> failed = Mono.<Cards>error(new IllegalStateException("backend said no"))
+                .transform(lastKnownCards.fallback(KEY));
+
+        assertThrows(IllegalStateException.class, failed::block);
+    }
+
+    @Test
+    void unreachableCacheDoesNotHideOpenBreaker() {
+        LastKnownCards unreachable = new LastKnownCards(new ConnectorCache<>() {
+            @Override
+            public Mono<Cards> get(String key) {
+                return Mono.error(new IOException("Connection refused"));
+            }
+
+            @Override
+            public Mono<Void> put(String key, Cards value) {
+                return Mono.error(new IOException("Connection refused"));
+            }
+
+            @Override
+            public Mono<Void> invalidate(String key) {
+                return Mono.error(new IOException("Connection refused"));
+            }
+        });
+        cards("1").transform(unreachable.fallback(KEY)).block();
+
+        Mono<Cards> fallback = breakerOpen().transform(unreachable.fallback(KEY));
+
+        assertThrows(CircuitBreakerOpenException.class, fallback::block);
+    }
+
+    private static Mono<Cards> cards(String name) {
+        Cards cards = new Cards();
+        cards.getCards().add(new Card.Builder().setName(name).build());
+        return Mono.just(cards);
+    }
+
+    private static Mono<Cards> breakerOpen() {
+        return Mono.error(new CircuitBreakerOpenException("https://backend", Duration.ofSeconds(30)));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyRecorderTest {
+
+    @Test
+    void emptyUntilMinSamples() {
+        LatencyRecorder recorder = new LatencyRecorder(10, 3);
+        recorder.record(Duration.ofMillis(5));
+        recorder.record(Duration.ofMillis(5));
+
+        assertEquals(Optional.empty(), recorder.percentile(95));
+    }
+
+    @Test
+    void percentiles() {
+        LatencyRecorder recorder = new LatencyRecorder(100, 1);
+        for (int i = 100; i > 0; i--) {
+            recorder.record(Duration.ofMillis(i));
+        }
+
+        assertEquals(Optional.of(Duration.ofMillis(50)), recorder.percentile(50));
+        assertEquals(Optional.of(Duration.ofMillis(95)), recorder.percentile(95));
+        assertEquals(Optional.of(Duration.ofMillis(100)), recorder.percentile(100));
+        assertEquals(Optional.of(Duration.ofMillis(1)), recorder.percentile(0));
+    }
+
+    @Test
+    void keepsOnlyMostRecent() {
+        LatencyRecorder recorder = new LatencyRecorder(2, 1);
+        recorder.record(Duration.ofSeconds(10));
+        recorder.record(Duration.ofMillis(1));
+        recorder.record(Duration.ofMillis(2));
+
+        assertEquals(Optional.of(Duration.ofMillis(2)), recorder.percentile(100));
+    }
+}
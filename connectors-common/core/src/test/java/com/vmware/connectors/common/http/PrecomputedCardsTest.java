@@ -0,0 +1,218 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.http;
+
+import com.vmware.connectors.common.metrics.ConnectorMetrics;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.Cards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PrecomputedCardsTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PrecomputedCards precomputedCards;
+
+    @BeforeEach
+    void setup() {
+        precomputedCards = new PrecomputedCards(
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofHours(1), 100, Duration.ofMillis(200), registry, now::get);
+    }
+
+    @Test
+    void firstPollWaitsForBackend() {
+        assertEquals("1", poll("user").block().getCards().get(0).getName());
+        assertEquals(1, backendCalls.get());
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void freshCardsAreServedWithoutBackend() {
+        poll("user").block();
+        advance(Duration.ofSeconds(10));
+
+        assertEquals("1", poll("user").block().getCards().get(0).getName());
+        assertEquals(1, backendCalls.get());
+        assertEquals(1, count("fresh"));
+    }
+
+    @Test
+    void staleCardsAreServedWhileRefreshing() {
+        poll("user").block();
+        advance(Duration.ofMinutes(1));
+
+        assertEquals("1", poll("user").block().getCards().get(0).getName());
+        assertEquals(2, backendCalls.get());
+        assertEquals(1, count("stale"));
+
+        assertEquals("2", poll("user").block().getCards().get(0).getName());
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void cardsTooStaleAreNotServed() {
+        poll("user").block();
+        advance(Duration.ofMinutes(6));
+
+        assertEquals("2", poll("user").block().getCards().get(0).getName());
+        assertEquals(2, count("miss"));
+    }
+
+    @Test
+    void oneRefreshAtATime() {
+        poll("user").block();
+        advance(Duration.ofMinutes(1));
+        MonoProcessor<Cards> slowBackend = MonoProcessor.create();
+
+        precomputedCards.serve("user").apply(slowBackend.doOnSubscribe(s -> backendCalls.incrementAndGet())).block();
+        precomputedCards.serve("user").apply(slowBackend.doOnSubscribe(s -> backendCalls.incrementAndGet())).block();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void hungRefreshIsGivenUp() throws InterruptedException {
+        poll("user").block();
+        advance(Duration.ofMinutes(1));
+        precomputedCards.serve("user").apply(Mono.<Cards>never().doOnSubscribe(s -> backendCalls.incrementAndGet())).block();
+
+        Thread.sleep(500);
+        poll("user").block();
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void usersAreSeparate() {
+        poll("first").block();
+
+        assertEquals("2", poll("second").block().getCards().get(0).getName());
+    }
+
+    @Test
+    void partialCardsAreNotKept() {
+        Cards partial = new Cards();
+        partial.setPartial(true);
+        precomputedCards.serve("user").apply(Mono.just(partial)).block();
+
+        poll("user").block();
+
+        assertEquals(2, count("miss"));
+    }
+
+    @Test
+    void invalidatedUserGoesToBackend() {
+        poll("https://backend|jdoe@example.com|en").block();
+        poll("https://backend|other@example.com|en").block();
+
+        assertEquals(1, precomputedCards.invalidate("JDoe@example.com"));
+
+        assertEquals("3", poll("https://backend|jdoe@example.com|en").block().getCards().get(0).getName());
+        assertEquals("2", poll("https://backend|other@example.com|en").block().getCards().get(0).getName());
+    }
+
+    @Test
+    void refreshDoesNotUndoInvalidation() {
+        poll("user").block();
+        advance(Duration.ofMinutes(1));
+        MonoProcessor<Cards> slowBackend = MonoProcessor.create();
+        precomputedCards.serve("user").apply(slowBackend).block();
+
+        precomputedCards.invalidate("user");
+        Cards beforeChange = new Cards();
+        slowBackend.onNext(beforeChange);
+
+        assertEquals("2", poll("user").block().getCards().get(0).getName());
+    }
+
+    @Test
+    void pollInFlightDoesNotUndoInvalidation() {
+        MonoProcessor<Cards> slowBackend = MonoProcessor.create();
+        Mono<Cards> firstPoll = precomputedCards.serve("user").apply(slowBackend).cache();
+        firstPoll.subscribe();
+
+        precomputedCards.invalidate("user");
+        Cards beforeChange = new Cards();
+        slowBackend.onNext(beforeChange);
+
+        assertSame(beforeChange, firstPoll.block());
+        assertEquals("1", poll("user").block().getCards().get(0).getName());
+        assertEquals(2, count("miss"));
+    }
+
+    @Test
+    void restoredSnapshotsAreServedWithTheirAge() {
+        poll("user").block();
+        advance(Duration.ofSeconds(20));
+        Map<String, CardSnapshot> snapshots = precomputedCards.snapshot();
+        assertEquals(Duration.ofSeconds(20), snapshots.get("user").getAge());
+
+        PrecomputedCards restarted = new PrecomputedCards(
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofHours(1), 100, Duration.ofMillis(200), registry, now::get);
+        assertEquals(1, restarted.restore(snapshots));
+
+        assertEquals("1", backend().transform(restarted.serve("user")).block().getCards().get(0).getName());
+        assertEquals(1, count("fresh"));
+        advance(Duration.ofSeconds(10));
+        backend().transform(restarted.serve("user")).block();
+        assertEquals(1, count("stale"));
+    }
+
+    @Test
+    void restoreKeepsNewerCards() {
+        poll("user").block();
+
+        Cards older = new Cards();
+        assertEquals(0, precomputedCards.restore(Map.of("user", new CardSnapshot(older, Duration.ofMinutes(1)))));
+        assertEquals("1", poll("user").block().getCards().get(0).getName());
+    }
+
+    @Test
+    void disabledAlwaysGoesToBackend() {
+        PrecomputedCards disabled = PrecomputedCards.disabled();
+
+        disabled.serve("user").apply(backend()).block();
+        disabled.serve("user").apply(backend()).block();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    private Mono<Cards> poll(String key) {
+        return backend().transform(precomputedCards.serve(key));
+    }
+
+    private Mono<Cards> backend() {
+        return Mono.fromSupplier(() -> {
+            Cards cards = new Cards();
+            cards.getCards().add(new Card.Builder()
+                    .setName(String.valueOf(backendCalls.incrementAndGet()))
+                    .build());
+            return cards;
+        });
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private double count(String result) {
+        return registry.counter(ConnectorMetrics.CARDS_PRECOMPUTED, "result", result).count();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.jfr;
+
+import com.vmware.connectors.common.http.BackendCall;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JfrExchangeFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsBackendCalls() throws IOException {
+        JfrExchangeFilter filter = new JfrExchangeFilter("test-connector");
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://backend/api/approvals"))
+                .attributes(BackendCall.named("approvals"))
+                .build();
+
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BackendCallEvent.class);
+            recording.start();
+            filter.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.CONTENT_LENGTH, "42")
+                    .build()))
+                    .block();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> "com.vmware.connectors.BackendCall".equals(event.getEventType().getName()))
+                .collect(Collectors.toList());
+
+        assertEquals(1, events.size());
+        assertEquals("test-connector", events.get(0).getString("connector"));
+        assertEquals("approvals", events.get(0).getString("endpoint"));
+        assertEquals(202, events.get(0).getInt("status"));
+        assertEquals(42, events.get(0).getLong("responseBytes"));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.metrics;
+
+import com.vmware.connectors.common.http.BackendCall;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static com.vmware.connectors.common.metrics.ConnectorMetrics.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MetricsExchangeFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MetricsExchangeFilter filter = new MetricsExchangeFilter(registry);
+
+    private final ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://backend/api/approvals"))
+            .attributes(BackendCall.named("approvals"))
+            .build();
+
+    @Test
+    void timesSuccessfulCalls() {
+        filter.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block();
+
+        assertEquals(1, registry.get(BACKEND_REQUESTS).tag(ENDPOINT_TAG, "approvals").tag(STATUS_TAG, "200").timer().count());
+        assertNull(registry.find(BACKEND_ERRORS).counter());
+        assertNull(registry.find(BACKEND_THROTTLED).counter());
+    }
+
+    @Test
+    void countsThrottling() {
+        filter.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build())).block();
+
+        assertEquals(1, registry.get(BACKEND_THROTTLED).tag(ENDPOINT_TAG, "approvals").counter().count());
+    }
+
+    @Test
+    void countsServerErrors() {
+        filter.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build())).block();
+
+        assertEquals(1, registry.get(BACKEND_ERRORS).tag(REASON_TAG, "502").counter().count());
+    }
+
+    @Test
+    void countsConnectionErrors() {
+        Mono<ClientResponse> response = filter.filter(request, req -> Mono.error(new IOException("Connection refused")));
+
+        assertThrows(RuntimeException.class, response::block);
+        assertEquals(1, registry.get(BACKEND_ERRORS).tag(REASON_TAG, "IOException").counter().count());
+        assertEquals(1, registry.get(BACKEND_REQUESTS).tag(STATUS_TAG, "none").timer().count());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.payloads.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CardActionTemplateTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void sameAsBuiltAction() {
+        CardAction fromTemplate = CardActionTemplate.of(approve(Locale.ENGLISH))
+                .newAction("/api/approve/42", Map.of("id", "42"));
+        CardAction fromBuilder = approve(Locale.ENGLISH)
+                .setId(fromTemplate.getId())
+                .setUrl("/api/approve/42")
+                .addRequestParam("id", "42")
+                .build();
+
+        JsonNode builtJson = mapper.valueToTree(fromBuilder);
+        JsonNode templateJson = mapper.valueToTree(fromTemplate);
+
+        assertEquals(fromBuilder.hash(), fromTemplate.hash());
+        assertEquals(builtJson, templateJson);
+    }
+
+    @Test
+    void actionsAreIndependent() {
+        CardActionTemplate template = CardActionTemplate.of(approve(Locale.ENGLISH));
+
+        CardAction first = template.newAction("/api/approve/1", Map.of("id", "1"));
+        CardAction second = template.newAction("/api/approve/2");
+
+        assertNotEquals(first.getId(), second.getId());
+        assertNotEquals(first.hash(), second.hash());
+        assertEquals(Map.of("action", "approve", "id", "1"), first.getRequest());
+        assertEquals(Map.of("action", "approve"), second.getRequest());
+        assertEquals("/api/approve/2", second.getUrl().getHref());
+    }
+
+    @Test
+    void registryBuildsOncePerLocale() {
+        CardActionTemplates templates = new CardActionTemplates();
+        AtomicInteger builds = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            templates.get("approve", Locale.ENGLISH, locale -> {
+                builds.incrementAndGet();
+                return approve(locale);
+            });
+        }
+        CardActionTemplate french = templates.get("approve", Locale.FRENCH, this::approve);
+        CardActionTemplate defaultLocale = templates.get("approve", null, this::approve);
+
+        assertEquals(1, builds.get());
+        assertEquals("approve-fr", french.newAction("/").getLabel());
+        assertEquals("approve-null", defaultLocale.newAction("/").getLabel());
+        assertSame(french, templates.get("approve", Locale.FRENCH, this::approve));
+    }
+
+    @Test
+    void registryCanBeCleared() {
+        CardActionTemplates templates = new CardActionTemplates();
+        CardActionTemplate before = templates.get("approve", Locale.ENGLISH, this::approve);
+
+        templates.clear();
+
+        assertNotSame(before, templates.get("approve", Locale.ENGLISH, this::approve));
+    }
+
+    private CardAction.Builder approve(Locale locale) {
+        return new CardAction.Builder()
+                .setLabel("approve-" + locale)
+                .setCompletedLabel("approved-" + locale)
+                .setType(HttpMethod.POST)
+                .setActionKey(CardActionKey.USER_INPUT)
+                .setPrimary(true)
+                .setMutuallyExclusiveSetId("approval-actions")
+                .addRequestParam("action", "approve")
+                .addUserInputField(new CardActionInputField.Builder()
+                        .setId("comment")
+                        .setLabel("comment-" + locale)
+                        .setFormat("textarea")
+                        .setMinLength(1)
+                        .build());
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.payloads.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardsModuleTest {
+
+    private final ObjectMapper reflective = mapper();
+
+    private final ObjectMapper handWritten = mapper().registerModule(new CardsModule());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "simple.json",
+            "minimal.json",
+            "bodyWithFields.json",
+            "cardFromBuilder.json",
+            "banner.json",
+            "sticky.json",
+            "action-content-type.json",
+            "action-input-display-content.json"
+    })
+    void sameBytesForCardFiles(String fileName) throws IOException {
+        Card card = reflective.readValue(fromFile(fileName), Card.class);
+
+        assertSameBytes(card);
+        assertSameBytes(cards(card));
+    }
+
+    @Test
+    void sameBytesForCardAction() throws IOException {
+        assertSameBytes(reflective.readValue(fromFile("cardActionFromBuilder.json"), CardAction.class));
+    }
+
+    @Test
+    void sameBytesForCardBody() throws IOException {
+        assertSameBytes(reflective.readValue(fromFile("cardBodyFromBuilder.json"), CardBody.class));
+    }
+
+    @Test
+    void sameBytesForFullCard() throws IOException {
+        Cards cards = cards(fullCard(), new Card.Builder().setName("bare").setHash("bare-hash").build());
+        cards.setPartial(true);
+
+        assertSameBytes(cards);
+    }
+
+    @Test
+    void sameBytesForEmptyCards() throws IOException {
+        assertSameBytes(new Cards());
+    }
+
+    @Test
+    void sameBytesWithDatesAsTimestamps() throws IOException {
+        Cards cards = cards(fullCard());
+
+        assertEquals(
+                reflective.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(cards),
+                handWritten.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(cards)
+        );
+    }
+
+    @Test
+    void compactReferencesRepeatedActions() throws IOException {
+        Cards cards = cards(dismissableCard("1"), dismissableCard("2"));
+
+        JsonNode json = compact(cards);
+
+        assertEquals(1, json.get("action_templates").size());
+        assertEquals("DISMISS", json.at("/action_templates/0/action_key").asText());
+        for (JsonNode card : json.get("objects")) {
+            JsonNode approve = card.at("/actions/0");
+            assertEquals("Approve", approve.get("label").asText());
+            assertFalse(approve.has("template"));
+            JsonNode dismiss = card.at("/actions/1");
+            assertEquals(0, dismiss.get("template").asInt());
+            assertTrue(dismiss.has("id"));
+            assertFalse(dismiss.has("label"));
+        }
+    }
+
+    @Test
+    void compactOmitsDefaultsAndEmptyValues() throws IOException {
+        JsonNode action = compact(cards(dismissableCard("1"))).at("/objects/0/actions/0");
+
+        assertFalse(action.has("allow_repeated"));
+        assertFalse(action.has("user_input"));
+        assertFalse(action.has("request"));
+        assertFalse(compact(cards(dismissableCard("1"))).has("action_templates"));
+    }
+
+    @Test
+    void compactHoistsSharedCardValues() throws IOException {
+        JsonNode json = compact(cards(dismissableCard("1"), dismissableCard("2")));
+
+        assertEquals("https://hero/templates/generic.hbs", json.at("/card_defaults/template/href").asText());
+        assertEquals("https://hero/logo.png", json.at("/card_defaults/image/href").asText());
+        assertEquals("approval", json.at("/card_defaults/tags/0").asText());
+        for (JsonNode card : json.get("objects")) {
+            assertFalse(card.has("template"));
+            assertFalse(card.has("image"));
+            assertFalse(card.has("tags"));
+        }
+    }
+
+    @Test
+    void compactKeepsValuesThatDiffer() throws IOException {
+        Card other = new Card.Builder()
+                .setName("other")
+                .setTemplate("https://hero/templates/other.hbs")
+                .setImageUrl("https://hero/logo.png")
+                .setHash("other-hash")
+                .build();
+
+        JsonNode json = compact(cards(dismissableCard("1"), other));
+
+        assertFalse(json.at("/card_defaults").has("template"));
+        assertFalse(json.at("/card_defaults").has("tags"));
+        assertEquals("https://hero/templates/other.hbs", json.at("/objects/1/template/href").asText());
+        assertEquals("approval", json.at("/objects/0/tags/0").asText());
+    }
+
+    @Test
+    void compactIsSmaller() throws IOException {
+        Cards cards = cards(dismissableCard("1"), dismissableCard("2"), dismissableCard("3"));
+
+        assertTrue(handWritten.writer().withAttribute(CardsModule.COMPACT, true).writeValueAsBytes(cards).length
+                < handWritten.writeValueAsBytes(cards).length);
+    }
+
+    private JsonNode compact(Cards cards) throws IOException {
+        return reflective.readTree(handWritten.writer().withAttribute(CardsModule.COMPACT, true).writeValueAsBytes(cards));
+    }
+
+    private static Card dismissableCard(String backendId) {
+        return new Card.Builder()
+                .setName("Requisition")
+                .setTemplate("https://hero/templates/generic.hbs")
+                .setImageUrl("https://hero/logo.png")
+                .addTag("approval")
+                .setBackendId(backendId)
+                .addAction(new CardAction.Builder()
+                        .setLabel("Approve")
+                        .setUrl("/api/requisitions/" + backendId + "/approve")
+                        .setType(HttpMethod.POST)
+                        .setActionKey(CardActionKey.DIRECT)
+                        .build())
+                .addAction(CardAction.Builder.dismissAction()
+                        .setLabel("Dismiss")
+                        .build())
+                .setHash("hash-" + backendId)
+                .build();
+    }
+
+    private void assertSameBytes(Object value) throws IOException {
+        assertEquals(reflective.writeValueAsString(value), handWritten.writeValueAsString(value));
+    }
+
+    private static Card fullCard() {
+        OffsetDateTime date = OffsetDateTime.of(2021, 3, 4, 10, 15, 30, 0, ZoneOffset.ofHours(2));
+        return new Card.Builder()
+                .setId(UUID.fromString("628a6d06-1925-404b-b241-ff21b273c4ab"))
+                .setName("Concur")
+                .setSticky(new Sticky(date, "pinned"))
+                .setCreationDate(date)
+                .setExpirationDate(date.plusDays(7))
+                .setDueDate(date.plusDays(1))
+                .setImportance(2)
+                .setTemplate("https://hero/connectors/concur/templates/generic.hbs")
+                .setHeader(new CardHeader("Expense report", List.of("Trip to Paris", "EUR 1,234"),
+                        new CardHeaderLinks("https://concur/reports/1", List.of("https://concur/users/2"))))
+                .setBanner(new CardBanner(List.of(
+                        new BannerItem(BannerItem.Type.IMAGE, "https://concur/receipt.png", "Receipt", null))))
+                .setBody(new CardBody.Builder()
+                        .setDescription("Please approve")
+                        .addField(new CardBodyField.Builder()
+                                .setType(CardBodyFieldType.GENERAL)
+                                .setTitle("Amount")
+                                .setDescription("1,234")
+                                .addContent(Map.of("label", "Hotel"))
+                                .build())
+                        .addField(new CardBodyField.Builder()
+                                .setType(CardBodyFieldType.ATTACHMENT)
+                                .setTitle("Attachments")
+                                .addItem(new CardBodyFieldItem.Builder()
+                                        .setType(CardBodyFieldType.ATTACHMENT)
+                                        .setTitle("receipt.pdf")
+                                        .setAttachmentName("receipt.pdf")
+                                        .setAttachmentContentType("application/pdf")
+                                        .setAttachmentContentLength(4096L)
+                                        .setAttachmentUrl("https://hero/attachments/1")
+                                        .setAttachmentMethod(HttpMethod.GET)
+                                        .setCreatedAt(new Date(1614850530000L))
+                                        .build())
+                                .build())
+                        .build())
+                .addAction(new CardAction.Builder()
+                        .setLabel("Approve")
+                        .setUrl("/api/expense/1/approve")
+                        .setType(HttpMethod.POST)
+                        .setContentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .setActionKey(CardActionKey.USER_INPUT)
+                        .setPrimary(true)
+                        .setRemoveCardOnCompletion(true)
+                        .addRequestParam("reportId", "1")
+                        .addUserInputField(new CardActionInputField.Builder()
+                                .setId("comment")
+                                .setLabel("Comment")
+                                .setFormat("textarea")
+                                .addOption("yes", "Yes")
+                                .setMinLength(1)
+                                .setMaxLength(100)
+                                .build())
+                        .setCompletedLabel("Approved")
+                        .setMutuallyExclusiveSetId("decision")
+                        .build())
+                .addAction(new CardAction.Builder()
+                        .setLabel("Dismiss")
+                        .setUrl("/api/expense/1/dismiss")
+                        .setType(HttpMethod.POST)
+                        .setActionKey(CardActionKey.DIRECT)
+                        .setAllowRepeated(true)
+                        .build())
+                .setImageUrl("https://concur/logo.png")
+                .addTag("expense")
+                .addTag("approval")
+                .setBackendId("report-1")
+                .addLinks(new OpenInLink(URI.create("https://concur/reports/1"), "Open in Concur"))
+                .addLinks(new OpenInLink(null, null))
+                .setHash("full-hash")
+                .build();
+    }
+
+    private static Cards cards(Card... cards) {
+        Cards result = new Cards();
+        result.getCards().addAll(List.of(cards));
+        return result;
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static String fromFile(String fileName) throws IOException {
+        return IOUtils.toString(CardsModuleTest.class.getClassLoader().getResourceAsStream(fileName), StandardCharsets.UTF_8);
+    }
+}
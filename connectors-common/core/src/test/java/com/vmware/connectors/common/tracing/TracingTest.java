@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.BackendCall;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracingTest {
+
+    private final List<Span> exported = new CopyOnWriteArrayList<>();
+
+    private final Tracing tracing = new Tracing(exported::add, 1.0);
+
+    @Test
+    void continuesSampledTrace() {
+        Span span = tracing.startServerSpan("GET", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01").get();
+
+        assertEquals("0af7651916cd43dd8448eb211c80319c", span.getTraceId());
+        assertEquals("b7ad6b7169203331", span.getParentSpanId());
+    }
+
+    @Test
+    void skipsUnsampledTrace() {
+        assertFalse(tracing.startServerSpan("GET", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-00").isPresent());
+    }
+
+    @Test
+    void startsNewTraceWithoutParent() {
+        Span span = tracing.startServerSpan("GET", "garbage").get();
+
+        assertEquals(32, span.getTraceId().length());
+        assertNull(span.getParentSpanId());
+        assertFalse(new Tracing(exported::add, 0.0).startServerSpan("GET", null).isPresent());
+    }
+
+    @Test
+    void tracesBackendCalls() {
+        Span root = tracing.startServerSpan("GET", null).get();
+        AtomicReference<String> sentTraceparent = new AtomicReference<>();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://backend/api/approvals"))
+                .attributes(BackendCall.named("approvals"))
+                .build();
+
+        new TracingExchangeFilter()
+                .filter(request, req -> {
+                    sentTraceparent.set(req.headers().getFirst(Tracing.TRACEPARENT_HEADER));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .subscriberContext(context -> context.put(Span.class, root))
+                .block();
+
+        assertEquals(1, exported.size());
+        Span client = exported.get(0);
+        assertEquals("approvals", client.getName());
+        assertEquals(Span.Kind.CLIENT, client.getKind());
+        assertEquals(root.getSpanId(), client.getParentSpanId());
+        assertEquals("200", client.getAttributes().get("http.status_code"));
+        assertEquals(client.traceparent(), sentTraceparent.get());
+    }
+
+    @Test
+    void tracedStepRecordsErrors() {
+        Span root = tracing.startServerSpan("GET", null).get();
+
+        Mono.error(new IllegalStateException())
+                .transform(Tracing.traced("step"))
+                .onErrorResume(e -> Mono.empty())
+                .subscriberContext(context -> context.put(Span.class, root))
+                .block();
+
+        assertEquals(1, exported.size());
+        assertTrue(exported.get(0).isError());
+    }
+
+    @Test
+    void writesJsonLines(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("traces.ndjson");
+        try (JsonFileSpanExporter exporter = new JsonFileSpanExporter(file)) {
+            Span root = new Tracing(exporter, 1.0).startServerSpan("GET /cards", null).get();
+            root.child("approvals", Span.Kind.CLIENT).end();
+            root.end();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = new ObjectMapper().readTree(lines.get(0));
+        JsonNode parent = new ObjectMapper().readTree(lines.get(1));
+        assertEquals("approvals", child.get("name").asText());
+        assertEquals(parent.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertEquals(parent.get("traceId").asText(), child.get("traceId").asText());
+    }
+
+    @Test
+    void writesQueuedSpansInBatchesOnClose(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("traces.ndjson");
+        Tracing tracing;
+        try (JsonFileSpanExporter exporter = new JsonFileSpanExporter(file, 5000)) {
+            tracing = new Tracing(exporter, 1.0);
+            for (int i = 0; i < 2000; i++) {
+                tracing.startServerSpan("GET /cards", null).get().end();
+            }
+        }
+        tracing.startServerSpan("GET /cards", null).get().end();
+
+        assertEquals(2000, Files.readAllLines(file).size());
+    }
+}
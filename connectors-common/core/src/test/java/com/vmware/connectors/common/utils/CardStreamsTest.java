@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.http.Deadline;
+import com.vmware.connectors.common.http.DeadlineExchangeFilter;
+import com.vmware.connectors.common.payloads.response.Card;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardStreamsTest {
+
+    @Test
+    void streamsAllCardsWithoutDeadline() {
+        List<Card> cards = Flux.concat(card("first"), card("second").delayElement(Duration.ofMillis(50)))
+                .as(CardStreams::stream)
+                .collectList()
+                .block();
+
+        assertEquals(2, cards.size());
+    }
+
+    @Test
+    void stopsAtDeadline() {
+        List<Card> cards = Flux.concat(card("fast"), card("slow").delayElement(Duration.ofSeconds(5)))
+                .as(CardStreams::stream)
+                .subscriberContext(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(200))))
+                .collectList()
+                .block();
+
+        assertEquals(1, cards.size());
+        assertEquals("fast", cards.get(0).getName());
+    }
+
+    @Test
+    void endsCleanlyWithDetailCallInFlightAtDeadline() throws IOException {
+        MockWebServer backend = new MockWebServer();
+        backend.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+        backend.start();
+        try {
+            WebClient rest = WebClient.builder().filter(new DeadlineExchangeFilter()).build();
+            Mono<Card> detail = rest.get()
+                    .uri(backend.url("/api/detail/1").uri())
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .map(body -> new Card.Builder().setName("detail").build());
+
+            List<Card> cards = Flux.merge(card("fast"), detail)
+                    .as(CardStreams::stream)
+                    .subscriberContext(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(300))))
+                    .collectList()
+                    .block();
+
+            assertEquals(1, cards.size());
+            assertEquals("fast", cards.get(0).getName());
+        } finally {
+            backend.shutdown();
+        }
+    }
+
+    @Test
+    void encodesOneCardPerLine() {
+        String body = DataBufferUtils.join(CardStreams.ndjsonEncoder(new ObjectMapper().findAndRegisterModules())
+                        .encode(Flux.concat(card("first"), card("second")), new DefaultDataBufferFactory(),
+                                ResolvableType.forClass(Card.class), CardStreams.APPLICATION_NDJSON, Collections.emptyMap()))
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .block();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"first\""));
+        assertTrue(lines[1].contains("\"name\":\"second\""));
+    }
+
+    private static Mono<Card> card(String name) {
+        return Mono.fromSupplier(() -> new Card.Builder().setName(name).build());
+    }
+}
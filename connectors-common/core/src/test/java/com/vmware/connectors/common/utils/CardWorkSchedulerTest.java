@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardWorkSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Scheduler scheduler = CardWorkScheduler.create(1, 1, registry);
+
+    @AfterEach
+    void dispose() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void runsOnNonBlockingThread() {
+        String thread = Mono.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(scheduler)
+                .block();
+
+        assertTrue(thread.startsWith(CardWorkScheduler.NAME));
+        assertTrue(Mono.fromCallable(Schedulers::isInNonBlockingThread).subscribeOn(scheduler).block());
+    }
+
+    @Test
+    void publishesQueueMetrics() {
+        Mono.just(1).subscribeOn(scheduler).block();
+
+        assertNotNull(registry.find("executor.queued").tag("name", CardWorkScheduler.NAME).gauge());
+        assertNotNull(registry.find("executor.completed").tag("name", CardWorkScheduler.NAME).functionCounter());
+    }
+
+    @Test
+    void rejectsWorkWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await();
+        scheduler.schedule(() -> { });
+
+        try {
+            assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> { }));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.utils;
+
+import com.vmware.connectors.common.http.Deadline;
+import com.vmware.connectors.common.http.DeadlineExceededException;
+import com.vmware.connectors.common.http.DeadlineExchangeFilter;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.Cards;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveTest {
+
+    @Test
+    void collectCardsWithoutDeadline() {
+        Cards cards = slowCards()
+                .as(Reactive::collectCards)
+                .block();
+
+        assertEquals(2, cards.getCards().size());
+        assertFalse(cards.isPartial());
+    }
+
+    @Test
+    void collectCardsBeforeDeadline() {
+        Cards cards = slowCards()
+                .as(Reactive::collectCards)
+                .subscriberContext(context -> context.put(Deadline.class, Deadline.after(Duration.ofSeconds(5))))
+                .block();
+
+        assertEquals(2, cards.getCards().size());
+        assertFalse(cards.isPartial());
+    }
+
+    @Test
+    void collectCardsUntilDeadline() {
+        Cards cards = Flux.concat(card("fast"), card("slow").delayElement(Duration.ofSeconds(5)))
+                .as(Reactive::collectCards)
+                .subscriberContext(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(200))))
+                .block();
+
+        assertEquals(1, cards.getCards().size());
+        assertEquals("fast", cards.getCards().get(0).getName());
+        assertTrue(cards.isPartial());
+    }
+
+    @Test
+    void collectCardsWithDetailCallInFlightAtDeadline() throws IOException {
+        MockWebServer backend = new MockWebServer();
+        backend.enqueue(new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+        backend.start();
+        try {
+            WebClient rest = WebClient.builder().filter(new DeadlineExchangeFilter()).build();
+            Mono<Card> detail = rest.get()
+                    .uri(backend.url("/api/detail/1").uri())
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .map(body -> new Card.Builder().setName("detail").build());
+
+            Cards cards = Flux.merge(card("fast"), detail)
+                    .as(Reactive::collectCards)
+                    .subscriberContext(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(300))))
+                    .block();
+
+            assertEquals(1, cards.getCards().size());
+            assertEquals("fast", cards.getCards().get(0).getName());
+            assertTrue(cards.isPartial());
+        } finally {
+            backend.shutdown();
+        }
+    }
+
+    @Test
+    void collectCardsWhenCallMissesDeadline() {
+        Cards cards = Flux.concat(card("fast"), Mono.<Card>error(new DeadlineExceededException("too late")))
+                .as(Reactive::collectCards)
+                .subscriberContext(context -> context.put(Deadline.class, Deadline.after(Duration.ofSeconds(5))))
+                .block();
+
+        assertEquals(1, cards.getCards().size());
+        assertTrue(cards.isPartial());
+    }
+
+    private static Flux<Card> slowCards() {
+        return Flux.concat(card("first"), card("second").delayElement(Duration.ofMillis(50)));
+    }
+
+    private static Mono<Card> card(String name) {
+        return Mono.fromSupplier(() -> new Card.Builder().setName(name).build());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.connectors.common.payloads.response.Card;
+import com.vmware.connectors.common.payloads.response.Cards;
+import com.vmware.connectors.common.payloads.response.CardsModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.vmware.connectors.common.web.ConnectorMediaTypes.APPLICATION_JSON_COMPACT;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactCardsEncoderTest {
+
+    private final CompactCardsEncoder encoder = new CompactCardsEncoder(new ObjectMapper().registerModule(new CardsModule()));
+
+    @Test
+    void encodesCardsForCompactProfile() {
+        assertTrue(encoder.canEncode(ResolvableType.forClass(Cards.class), APPLICATION_JSON_COMPACT));
+        assertTrue(encoder.canEncode(ResolvableType.forClass(Cards.class), MediaType.parseMediaType("application/json;profile=compact;charset=UTF-8")));
+    }
+
+    @Test
+    void leavesEverythingElseToJsonEncoder() {
+        assertFalse(encoder.canEncode(ResolvableType.forClass(Cards.class), MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(Cards.class), null));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(Card.class), APPLICATION_JSON_COMPACT));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(Map.class), APPLICATION_JSON_COMPACT));
+    }
+
+    @Test
+    void writesCompactProfile() {
+        Cards cards = new Cards();
+        cards.getCards().add(new Card.Builder().setName("first").setImageUrl("https://hero/logo.png").setHash("1").build());
+        cards.getCards().add(new Card.Builder().setName("second").setImageUrl("https://hero/logo.png").setHash("2").build());
+
+        String json = DataBufferUtils.join(encoder.encode(Mono.just(cards), new DefaultDataBufferFactory(),
+                ResolvableType.forClass(Cards.class), APPLICATION_JSON_COMPACT, Map.of()))
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .block();
+
+        assertTrue(json.startsWith("{\"card_defaults\":{\"image\":{\"href\":\"https://hero/logo.png\"}}"), json);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import com.vmware.connectors.common.http.Deadline;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineWebFilterTest {
+
+    private static final Duration RESERVE = Duration.ofMillis(250);
+
+    @Test
+    void headerSetsTheTimeout() {
+        Deadline deadline = deadline(new DeadlineWebFilter(null, RESERVE), "2000");
+
+        assertBetween(Duration.ofMillis(1500), Duration.ofMillis(1750), deadline.remaining());
+    }
+
+    @Test
+    void defaultWithoutHeader() {
+        Deadline deadline = deadline(new DeadlineWebFilter(Duration.ofSeconds(10), RESERVE), null);
+
+        assertBetween(Duration.ofMillis(9500), Duration.ofMillis(9750), deadline.remaining());
+    }
+
+    @Test
+    void noDeadlineWithoutHeaderOrDefault() {
+        assertNull(deadline(new DeadlineWebFilter(null, RESERVE), null));
+    }
+
+    @Test
+    void timeoutShorterThanReserveIsAlreadyExpired() {
+        Deadline deadline = deadline(new DeadlineWebFilter(null, RESERVE), "100");
+
+        assertTrue(deadline.isExpired());
+    }
+
+    @Test
+    void headerCannotExtendTheDefault() {
+        Deadline deadline = deadline(new DeadlineWebFilter(Duration.ofSeconds(10), RESERVE), "60000");
+
+        assertBetween(Duration.ofMillis(9500), Duration.ofMillis(9750), deadline.remaining());
+    }
+
+    @Test
+    void hugeHeaderIsCappedAtTheMax() {
+        DeadlineWebFilter filter = new DeadlineWebFilter(null, Duration.ofSeconds(30), RESERVE);
+
+        Deadline deadline = deadline(filter, String.valueOf(Long.MAX_VALUE));
+
+        assertBetween(Duration.ofMillis(29500), Duration.ofMillis(29750), deadline.remaining());
+    }
+
+    @Test
+    void garbageHeaderIsIgnored() {
+        DeadlineWebFilter filter = new DeadlineWebFilter(Duration.ofSeconds(10), RESERVE);
+
+        assertBetween(Duration.ofMillis(9500), Duration.ofMillis(9750), deadline(filter, "soon").remaining());
+        assertBetween(Duration.ofMillis(9500), Duration.ofMillis(9750), deadline(filter, "-5").remaining());
+        assertBetween(Duration.ofMillis(9500), Duration.ofMillis(9750), deadline(filter, "99999999999999999999999").remaining());
+        assertNull(deadline(new DeadlineWebFilter(null, RESERVE), "soon"));
+    }
+
+    private static Deadline deadline(DeadlineWebFilter filter, String header) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/cards/requests");
+        if (header != null) {
+            request.header(DeadlineWebFilter.REQUEST_TIMEOUT_HEADER, header);
+        }
+        AtomicReference<Deadline> deadline = new AtomicReference<>();
+        WebFilterChain chain = exchange -> Mono.subscriberContext()
+                .doOnNext(context -> deadline.set(Deadline.from(context).orElse(null)))
+                .then();
+
+        filter.filter(MockServerWebExchange.from(request), chain).block();
+        return deadline.get();
+    }
+
+    private static void assertBetween(Duration min, Duration max, Duration actual) {
+        assertTrue(actual.compareTo(min) >= 0 && actual.compareTo(max) <= 0, actual + " not between " + min + " and " + max);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.web;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingsTest {
+
+    @Test
+    void singleTiming() {
+        ServerTimings timings = new ServerTimings();
+        timings.record("userLookup", Duration.ofMillis(12));
+
+        assertEquals("userLookup;dur=12.0", timings.toHeaderValue());
+    }
+
+    @Test
+    void combinesTimingsOfSameName() {
+        ServerTimings timings = new ServerTimings();
+        timings.record("detail", Duration.ofMillis(10));
+        timings.record("approvals", Duration.ofMillis(5));
+        timings.record("detail", Duration.ofMillis(30));
+
+        assertEquals("detail;dur=30.0;desc=\"2 calls, 40.0ms total\", approvals;dur=5.0", timings.toHeaderValue());
+    }
+
+    @Test
+    void replacesInvalidNameCharacters() {
+        ServerTimings timings = new ServerTimings();
+        timings.record("GET /api/users/{id}", Duration.ofMillis(1));
+
+        assertEquals("GET__api_users__id_;dur=1.0;desc=\"GET /api/users/{id}\"", timings.toHeaderValue());
+    }
+
+    @Test
+    void timedRecordsWhenInContext() {
+        ServerTimings timings = new ServerTimings();
+        Mono.delay(Duration.ofMillis(20))
+                .transform(ServerTimings.timed("slow"))
+                .subscriberContext(context -> context.put(ServerTimings.class, timings))
+                .block();
+
+        assertTrue(timings.toHeaderValue().startsWith("slow;dur="));
+    }
+
+    @Test
+    void timedDoesNothingWithoutContext() {
+        assertEquals("ok", Mono.just("ok").transform(ServerTimings.timed("step")).block());
+    }
+}
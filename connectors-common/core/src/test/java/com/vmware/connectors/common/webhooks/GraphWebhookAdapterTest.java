@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GraphWebhookAdapterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final GraphWebhookAdapter adapter = new GraphWebhookAdapter("s3cret");
+
+    @Test
+    void validationTokenIsEchoed() {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("validationToken", "token-123");
+
+        assertEquals("token-123", adapter.validationResponse(queryParams));
+        assertNull(adapter.validationResponse(new LinkedMultiValueMap<>()));
+    }
+
+    @Test
+    void usersOfNotifications() throws IOException {
+        JsonNode body = mapper.readTree("{\"value\": ["
+                + "{\"clientState\": \"s3cret\", \"changeType\": \"created\", \"resource\": \"Users/1111/Messages/abc\"},"
+                + "{\"clientState\": \"s3cret\", \"changeType\": \"updated\", \"resource\": \"/users/2222/events/def\"},"
+                + "{\"clientState\": \"s3cret\", \"changeType\": \"updated\", \"resource\": \"groups/3333\"}"
+                + "]}");
+
+        assertEquals(Set.of("1111", "2222"), adapter.affectedUsers(new HttpHeaders(), body));
+    }
+
+    @Test
+    void wrongClientState() throws IOException {
+        JsonNode body = mapper.readTree("{\"value\": ["
+                + "{\"clientState\": \"s3cret\", \"resource\": \"Users/1111/Messages/abc\"},"
+                + "{\"clientState\": \"guess\", \"resource\": \"Users/2222/Messages/def\"}"
+                + "]}");
+
+        assertThrows(WebhookAuthenticationException.class, () -> adapter.affectedUsers(new HttpHeaders(), body));
+    }
+}
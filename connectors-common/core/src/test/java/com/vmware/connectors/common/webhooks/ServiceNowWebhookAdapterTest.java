@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 VMware, Inc. All Rights Reserved.
+ * SPDX-License-Identifier: BSD-2-Clause
+ */
+
+package com.vmware.connectors.common.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceNowWebhookAdapterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ServiceNowWebhookAdapter adapter = new ServiceNowWebhookAdapter("s3cret");
+
+    @Test
+    void singleRecord() throws IOException {
+        JsonNode body = mapper.readTree("{\"sys_id\": \"1\", \"approver_email\": \"jdoe@example.com\"}");
+
+        assertEquals(Set.of("jdoe@example.com"), adapter.affectedUsers(headers("s3cret"), body));
+    }
+
+    @Test
+    void severalRecords() throws IOException {
+        JsonNode body = mapper.readTree("[{\"approver_email\": \"jdoe@example.com\"}, {\"sys_id\": \"2\"},"
+                + " {\"approver_email\": \"asmith@example.com\"}, {\"approver_email\": \"jdoe@example.com\"}]");
+
+        assertEquals(Set.of("jdoe@example.com", "asmith@example.com"), adapter.affectedUsers(headers("s3cret"), body));
+    }
+
+    @Test
+    void wrongSecret() throws IOException {
+        JsonNode body = mapper.readTree("{\"approver_email\": \"jdoe@example.com\"}");
+
+        assertThrows(WebhookAuthenticationException.class, () -> adapter.affectedUsers(headers("guess"), body));
+        assertThrows(WebhookAuthenticationException.class, () -> adapter.affectedUsers(new HttpHeaders(), body));
+    }
+
+    @Test
+    void blankSecretIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceNowWebhookAdapter(" "));
+    }
+
+    private static HttpHeaders headers(String secret) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ServiceNowWebhookAdapter.SECRET_HEADER, secret);
+        return headers;
+    }
+}